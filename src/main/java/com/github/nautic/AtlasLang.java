@@ -3,27 +3,32 @@ package com.github.nautic;
 import com.github.nautic.api.AtlasAPI;
 import com.github.nautic.commands.ALCommands;
 import com.github.nautic.commands.ALTabCompleter;
+import com.github.nautic.commands.AsyncTabCompleteHook;
+import com.github.nautic.commands.CommandPipeline;
+import com.github.nautic.commands.CompletionManager;
+import com.github.nautic.commands.customs.AliasLangTabCompleter;
 import com.github.nautic.commands.customs.LangsLoader;
 import com.github.nautic.database.DatabaseManager;
 import com.github.nautic.expansion.ALExpansion;
 import com.github.nautic.expansion.AtlasLangExpansion;
 import com.github.nautic.github.GitHubSyncManager;
+import com.github.nautic.github.GitHubSyncScheduler;
 import com.github.nautic.handler.LangHandler;
 import com.github.nautic.libs.Libraries;
+import com.github.nautic.libs.LibraryLoader;
 import com.github.nautic.manager.FileManager;
 import com.github.nautic.manager.LanguageManager;
+import com.github.nautic.manager.LanguageWatcher;
 import com.github.nautic.update.spigot.SpigotUpdateListener;
 import com.github.nautic.utils.addColor;
 import org.bstats.bukkit.Metrics;
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
-import revxrsal.zapper.DependencyManager;
 import revxrsal.zapper.classloader.URLClassLoaderWrapper;
-import revxrsal.zapper.relocation.Relocation;
-import revxrsal.zapper.repository.Repository;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URLClassLoader;
 
 public final class AtlasLang extends JavaPlugin {
@@ -34,6 +39,10 @@ public final class AtlasLang extends JavaPlugin {
     private LanguageManager languageManager;
     private LangHandler langHandler;
     private GitHubSyncManager gitHubSyncManager;
+    private GitHubSyncScheduler gitHubScheduler;
+    private LanguageWatcher languageWatcher;
+    private CompletionManager completionManager;
+    private CommandPipeline commandPipeline;
 
     @Override
     public void onLoad() {
@@ -41,26 +50,19 @@ public final class AtlasLang extends JavaPlugin {
         File libs = new File(getDataFolder(), "libraries");
         if (!libs.exists()) libs.mkdirs();
 
-        getLogger().info("Installing runtime dependencies...");
-
-        DependencyManager manager = new DependencyManager(
+        LibraryLoader loader = new LibraryLoader(
                 libs,
                 URLClassLoaderWrapper.wrap(
                         (URLClassLoader) getClassLoader()
-                )
+                ),
+                getLogger()
         );
 
-        manager.repository(Repository.mavenCentral());
-        manager.repository(Repository.maven("https://repo.codemc.org/repository/maven-public/"));
-
-        for (Libraries lib : Libraries.values()) {
-            manager.dependency(lib.dependency());
-            for (Relocation relocation : lib.relocations()) {
-                manager.relocate(relocation);
-            }
+        try {
+            loader.load(Libraries.forDatabase(getConfig().getString("database.type", "H2")));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load runtime dependencies", e);
         }
-
-        manager.load();
     }
 
     @Override
@@ -79,18 +81,29 @@ public final class AtlasLang extends JavaPlugin {
         languageManager = new LanguageManager(fileManager);
         langHandler = new LangHandler(fileManager, languageManager);
 
+        fileManager.loadSnapshot(getSnapshotFile(), getDescription().getVersion());
         languageManager.loadLanguagesFromConfig(getConfig());
+        fileManager.saveSnapshot(getSnapshotFile(), getDescription().getVersion());
         logRegisteredLanguages();
+        reloadLanguageWatcher();
 
         DatabaseManager.loadDatabase();
 
         AtlasAPI.initialize(this);
+        completionManager = new CompletionManager(this);
+        commandPipeline = new CommandPipeline(this);
         LangsLoader.registerLanguageCommands(this);
 
         gitHubSyncManager = new GitHubSyncManager(this);
+        reloadGitHubScheduler();
 
         getCommand("atlaslang").setExecutor(new ALCommands(this));
-        getCommand("atlaslang").setTabCompleter(new ALTabCompleter(this));
+        ALTabCompleter tabCompleter = new ALTabCompleter(this, completionManager);
+        getCommand("atlaslang").setTabCompleter(tabCompleter);
+
+        if (AsyncTabCompleteHook.register(this, tabCompleter, new AliasLangTabCompleter(completionManager))) {
+            getLogger().info("Using asynchronous tab completion.");
+        }
 
         if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
             new ALExpansion(this).register();
@@ -105,6 +118,15 @@ public final class AtlasLang extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (languageWatcher != null) languageWatcher.stop();
+        if (gitHubScheduler != null) gitHubScheduler.stop();
+        if (gitHubSyncManager != null) gitHubSyncManager.shutdown();
+        AtlasAPI.shutdown();
+        if (commandPipeline != null) commandPipeline.shutdown();
+        if (fileManager != null) {
+            fileManager.shutdown();
+            fileManager.saveSnapshot(getSnapshotFile(), getDescription().getVersion());
+        }
         DatabaseManager.close();
     }
 
@@ -112,6 +134,14 @@ public final class AtlasLang extends JavaPlugin {
         return instance;
     }
 
+    public CompletionManager getCompletionManager() {
+        return completionManager;
+    }
+
+    public CommandPipeline getCommandPipeline() {
+        return commandPipeline;
+    }
+
     public FileManager getFileManager() {
         return fileManager;
     }
@@ -132,6 +162,54 @@ public final class AtlasLang extends JavaPlugin {
         return gitHubSyncManager;
     }
 
+    private File getSnapshotFile() {
+        return new File(getDataFolder(), "cache");
+    }
+
+    public void reloadLanguageWatcher() {
+        if (languageWatcher != null) {
+            languageWatcher.stop();
+            languageWatcher = null;
+        }
+
+        if (!getConfig().getBoolean("hot-reload.enabled", false)) return;
+
+        languageWatcher = new LanguageWatcher(
+                this,
+                fileManager,
+                languageManager,
+                getConfig().getLong("hot-reload.debounce-ms", 500)
+        );
+
+        try {
+            languageWatcher.start();
+            getLogger().info("Watching language files for changes.");
+        } catch (IOException e) {
+            getLogger().warning("Could not start language hot reload: " + e.getMessage());
+            languageWatcher = null;
+        }
+    }
+
+    public void reloadGitHubScheduler() {
+        if (gitHubScheduler != null) {
+            gitHubScheduler.stop();
+            gitHubScheduler = null;
+        }
+
+        if (!getConfig().getBoolean("github.schedule.enabled", false)) return;
+
+        gitHubScheduler = new GitHubSyncScheduler(
+                this,
+                gitHubSyncManager,
+                getConfig().getLong("github.schedule.interval-minutes", 30),
+                getConfig().getLong("github.schedule.jitter-seconds", 120),
+                getConfig().getLong("github.schedule.max-backoff-minutes", 240)
+        );
+
+        gitHubScheduler.start();
+        getLogger().info("Scheduled GitHub sync enabled.");
+    }
+
     private void logRegisteredLanguages() {
         var map = languageManager.getLanguageMap();
 
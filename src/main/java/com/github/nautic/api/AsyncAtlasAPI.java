@@ -0,0 +1,205 @@
+package com.github.nautic.api;
+
+import com.github.nautic.AtlasLang;
+import com.github.nautic.database.DatabaseManager;
+import com.github.nautic.utils.addColor;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking version of {@link AtlasAPI}, obtained with {@link AtlasAPI#async()}.
+ *
+ * Calls that may need the database run on a small dedicated pool, never on
+ * the calling thread. When the answer is already in memory (for example the
+ * language of an online player) the returned future is already completed.
+ *
+ * Use {@link #sync(CompletableFuture, Consumer)} to continue on the main
+ * thread, e.g. to send the result to a player.
+ */
+public final class AsyncAtlasAPI {
+
+    private static final int THREADS = 4;
+    private static final int QUEUE_SIZE = 4096;
+
+    private final ThreadPoolExecutor executor;
+    private final Executor mainThread;
+
+    AsyncAtlasAPI(AtlasLang plugin) {
+        AtomicInteger counter = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+                THREADS,
+                THREADS,
+                30,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "AtlasLang-API-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.mainThread = runnable -> {
+            if (Bukkit.isPrimaryThread()) {
+                runnable.run();
+            } else {
+                Bukkit.getScheduler().runTask(plugin, runnable);
+            }
+        };
+    }
+
+    /**
+     * Retrieves a translated message for a player. No placeholders are
+     * applied; use {@link #get(Player, MessageKey)} for that.
+     *
+     * @param player The player
+     * @param path   The language path
+     * @return A future with the translated message
+     */
+    public CompletableFuture<String> get(Player player, String path) {
+        return get(player.getUniqueId(), path);
+    }
+
+    /**
+     * Retrieves a translated message using a player's UUID. No placeholders
+     * are applied.
+     *
+     * @param uuid The player's UUID
+     * @param path The language path
+     * @return A future with the translated message
+     */
+    public CompletableFuture<String> get(UUID uuid, String path) {
+        return supply(uuid, () -> AtlasAPI.get(uuid, path));
+    }
+
+    /**
+     * Retrieves an addon-specific message using a player's UUID.
+     *
+     * @param uuid The player's UUID
+     * @param path The addon language path
+     * @return A future with the translated addon message
+     */
+    public CompletableFuture<String> getAddon(UUID uuid, String path) {
+        return supply(uuid, () -> AtlasAPI.getAddon(uuid, path));
+    }
+
+    /**
+     * Retrieves a message through a handle for a player, with their
+     * placeholders applied. The message is looked up on the pool, but
+     * PlaceholderAPI runs on the main thread, where expansions expect to be
+     * called.
+     *
+     * @param player The player
+     * @param key    The message handle
+     * @return A future with the translated message
+     */
+    public CompletableFuture<String> get(Player player, MessageKey key) {
+        return supply(player.getUniqueId(), () -> key.get(AtlasAPI.getLanguage(player)))
+                .thenCompose(value -> value == null || value.indexOf('%') == -1
+                        ? CompletableFuture.completedFuture(value)
+                        : CompletableFuture.supplyAsync(() -> addColor.ApplyPlaceholders(player, value), mainThread));
+    }
+
+    /**
+     * Returns the current language of a player.
+     *
+     * @param player The player
+     * @return A future with the player's language
+     */
+    public CompletableFuture<String> getLanguage(Player player) {
+        return getLanguage(player.getUniqueId());
+    }
+
+    /**
+     * Returns the current language of a player using UUID.
+     *
+     * @param uuid The player's UUID
+     * @return A future with the player's language or the default language
+     */
+    public CompletableFuture<String> getLanguage(UUID uuid) {
+        return supply(uuid, () -> AtlasAPI.getLanguage(uuid));
+    }
+
+    /**
+     * Sets the language for a player.
+     *
+     * @param player    The player
+     * @param langInput The language input
+     * @return A future that completes with true if the language was set
+     */
+    public CompletableFuture<Boolean> setLanguage(Player player, String langInput) {
+        return setLanguage(player.getUniqueId(), langInput);
+    }
+
+    /**
+     * Sets the language for a player using UUID.
+     *
+     * @param uuid      The player's UUID
+     * @param langInput The language input
+     * @return A future that completes with true if the language was set
+     */
+    public CompletableFuture<Boolean> setLanguage(UUID uuid, String langInput) {
+        if (!AtlasAPI.isLanguageRegistered(langInput)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return submit(() -> AtlasAPI.setLanguage(uuid, langInput));
+    }
+
+    /**
+     * Runs an action on the main thread once a future completes successfully.
+     * Runs it right away if the future is already complete and this is
+     * called from the main thread.
+     *
+     * @param future The future
+     * @param action The action to run with the result
+     * @return A future that completes after the action has run
+     */
+    public <T> CompletableFuture<Void> sync(CompletableFuture<T> future, Consumer<? super T> action) {
+        return future.thenAcceptAsync(action, mainThread);
+    }
+
+    /**
+     * Returns an executor that runs tasks on the main server thread.
+     *
+     * @return The main thread executor
+     */
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> supply(UUID uuid, Supplier<T> supplier) {
+        if (DatabaseManager.isLanguageCached(uuid)) {
+            try {
+                return CompletableFuture.completedFuture(supplier.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return submit(supplier);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
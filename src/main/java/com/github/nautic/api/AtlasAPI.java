@@ -1,11 +1,23 @@
 package com.github.nautic.api;
 
 import com.github.nautic.AtlasLang;
+import com.github.nautic.api.event.PlayerLanguageChangeEvent;
 import com.github.nautic.database.DatabaseManager;
 import com.github.nautic.handler.LangHandler;
+import com.github.nautic.manager.FileManager;
 import com.github.nautic.manager.LanguageManager;
+import com.github.nautic.manager.TranslationBundle;
+import org.bukkit.Bukkit;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -40,15 +52,30 @@ public final class AtlasAPI {
      */
     private final LanguageManager languageManager;
 
+    /**
+     * Holds the compiled translations of every loaded file.
+     */
+    private final FileManager fileManager;
+
+    /**
+     * Non-blocking facade over this API.
+     */
+    private final AsyncAtlasAPI asyncApi;
+
     /**
      * Private constructor to enforce singleton pattern.
      *
      * @param langHandler     The language handler instance
      * @param languageManager The language manager instance
+     * @param fileManager     The file manager instance
+     * @param asyncApi        The async facade instance
      */
-    private AtlasAPI(LangHandler langHandler, LanguageManager languageManager) {
+    private AtlasAPI(LangHandler langHandler, LanguageManager languageManager, FileManager fileManager,
+                     AsyncAtlasAPI asyncApi) {
         this.langHandler = langHandler;
         this.languageManager = languageManager;
+        this.fileManager = fileManager;
+        this.asyncApi = asyncApi;
     }
 
     /**
@@ -61,10 +88,22 @@ public final class AtlasAPI {
         if (instance != null) return;
         instance = new AtlasAPI(
                 plugin.getLangHandler(),
-                plugin.getLanguageManager()
+                plugin.getLanguageManager(),
+                plugin.getFileManager(),
+                new AsyncAtlasAPI(plugin)
         );
     }
 
+    /**
+     * Stops the async API worker threads.
+     * This method is called by AtlasLang when the plugin is disabled.
+     */
+    public static void shutdown() {
+        if (instance != null) {
+            instance.asyncApi.shutdown();
+        }
+    }
+
     /**
      * Returns the AtlasAPI singleton instance.
      *
@@ -78,6 +117,16 @@ public final class AtlasAPI {
         return instance;
     }
 
+    /**
+     * Returns the non-blocking version of this API. Its methods never block
+     * on the database and return futures instead of values.
+     *
+     * @return AsyncAtlasAPI instance
+     */
+    public static AsyncAtlasAPI async() {
+        return get().asyncApi;
+    }
+
     /**
      * Retrieves a translated message for a player using their UUID.
      *
@@ -119,6 +168,111 @@ public final class AtlasAPI {
         return get().langHandler.get(resolved, "atlasaddon", path);
     }
 
+    /**
+     * Returns a reusable handle to a message. Resolving a handle skips the
+     * file and path lookup, so plugins that read the same messages often
+     * should keep the handle instead of passing the path every time.
+     *
+     * @param file The language file, relative to the language folder and without extension
+     * @param path The language path
+     * @return The message handle
+     */
+    public static MessageKey key(String file, String path) {
+        return new MessageKey(file, path);
+    }
+
+    /**
+     * Retrieves a translated message with its ICU arguments filled in,
+     * for example {@code {count, plural, one {# coin} other {# coins}}}.
+     *
+     * @param player The player
+     * @param path   The language path
+     * @param args   Argument name and value pairs, e.g. "count", 5
+     * @return The formatted message
+     */
+    public static String format(Player player, String path, Object... args) {
+        return get().langHandler.format(player, getLanguage(player), "atlasaddon", path, arguments(args));
+    }
+
+    /**
+     * Retrieves a translated message in a language with its ICU arguments filled in.
+     *
+     * @param langInput The language input (alias, locale, or key)
+     * @param path      The language path
+     * @param args      Argument name and value pairs
+     * @return The formatted message
+     */
+    public static String format(String langInput, String path, Object... args) {
+        return get().langHandler.format(null, langInput, "atlasaddon", path, arguments(args));
+    }
+
+    static Map<String, Object> arguments(Object... args) {
+        if (args.length % 2 != 0) {
+            throw new IllegalArgumentException("Arguments must be name and value pairs");
+        }
+
+        Map<String, Object> map = new HashMap<>(args.length);
+        for (int i = 0; i < args.length; i += 2) {
+            map.put(String.valueOf(args[i]), args[i + 1]);
+        }
+        return map;
+    }
+
+    /**
+     * Sends a message to every online player in their own language.
+     * The message is rendered once per language instead of once per player;
+     * placeholders are only applied per player when the message contains them.
+     * Must be called from the main thread.
+     *
+     * @param path         The language path
+     * @param replacements Placeholder and value pairs, e.g. "{name}", "Steve"
+     */
+    public static void broadcast(String path, String... replacements) {
+        Broadcaster.message(Bukkit.getOnlinePlayers(), "atlasaddon", path, replacements);
+    }
+
+    /**
+     * Sends a title to every online player in their own language.
+     *
+     * @param titlePath    The language path of the title, or null for none
+     * @param subtitlePath The language path of the subtitle, or null for none
+     * @param fadeIn       Fade in time in ticks
+     * @param stay         Stay time in ticks
+     * @param fadeOut      Fade out time in ticks
+     * @param replacements Placeholder and value pairs
+     */
+    public static void broadcastTitle(String titlePath, String subtitlePath, int fadeIn, int stay, int fadeOut,
+                                      String... replacements) {
+        Broadcaster.title(Bukkit.getOnlinePlayers(), "atlasaddon", titlePath, subtitlePath,
+                fadeIn, stay, fadeOut, replacements);
+    }
+
+    /**
+     * Sends an action bar message to every online player in their own language.
+     *
+     * @param path         The language path
+     * @param replacements Placeholder and value pairs
+     */
+    public static void broadcastActionBar(String path, String... replacements) {
+        Broadcaster.actionBar(Bukkit.getOnlinePlayers(), "atlasaddon", path, replacements);
+    }
+
+    /**
+     * Shows a boss bar to every online player in their own language.
+     * One bar is created per language, or per player when the message
+     * contains placeholders. The caller owns the returned bars and is
+     * responsible for removing them.
+     *
+     * @param path         The language path
+     * @param color        The bar color
+     * @param style        The bar style
+     * @param replacements Placeholder and value pairs
+     * @return The created boss bars
+     */
+    public static List<BossBar> broadcastBossBar(String path, BarColor color, BarStyle style, String... replacements) {
+        return Broadcaster.bossBar(Bukkit.getOnlinePlayers(), "atlasaddon", path, color, style, replacements);
+    }
+
     /**
      * Retrieves a translated message or returns a fallback value if not found.
      *
@@ -166,8 +320,25 @@ public final class AtlasAPI {
     public static boolean setLanguage(UUID uuid, String langInput) {
         String resolved = get().languageManager.resolveLanguageStrict(langInput);
         if (resolved == null) return false;
-        DatabaseManager.getDatabase().setLanguagePlayer(uuid, resolved);
-        return true;
+        return get().languageManager.setPlayerLanguage(uuid, resolved, PlayerLanguageChangeEvent.Cause.API);
+    }
+
+    /**
+     * Changes a translation at runtime. The new value is used right away,
+     * without a reload, and is saved to the language file in the background.
+     * Bundle files are addressed as {@code namespace:file} and saved to the
+     * bundle's overrides.
+     *
+     * @param langInput The language input
+     * @param file      The file, without extension
+     * @param path      The language path
+     * @param value     The new value
+     * @return true if the file exists in the language folder and the value was set
+     */
+    public static boolean setTranslation(String langInput, String file, String path, String value) {
+        String resolved = get().languageManager.resolveLanguageStrict(langInput);
+        if (resolved == null) return false;
+        return get().fileManager.setTranslation(resolved, file, path, value);
     }
 
     /**
@@ -229,6 +400,15 @@ public final class AtlasAPI {
         return get().languageManager;
     }
 
+    /**
+     * Provides access to the FileManager.
+     *
+     * @return FileManager instance
+     */
+    public static FileManager getFileManager() {
+        return get().fileManager;
+    }
+
     /**
      * Provides access to the LangHandler.
      *
@@ -238,6 +418,76 @@ public final class AtlasAPI {
         return get().langHandler;
     }
 
+    /**
+     * Registers the language files shipped in another plugin's jar under
+     * {@code languages/<language>/<file>.yml} as an isolated bundle.
+     * The files are read from the jar into memory, with the admin's overrides
+     * from {@code plugins/AtlasLang/bundles/<namespace>/<language>/} layered
+     * on top, and stay registered across /atlaslang reload.
+     *
+     * @param plugin    The plugin whose jar holds the files
+     * @param namespace The bundle namespace, usually the plugin name
+     * @return true if the bundle was registered
+     */
+    public static boolean registerBundle(Plugin plugin, String namespace) {
+        return registerBundle(plugin, namespace, "languages");
+    }
+
+    /**
+     * Registers the language files shipped in another plugin's jar under
+     * {@code <root>/<language>/<file>.yml} as an isolated bundle.
+     *
+     * @param plugin    The plugin whose jar holds the files
+     * @param namespace The bundle namespace, usually the plugin name
+     * @param root      The folder inside the jar holding one folder per language
+     * @return true if the bundle was registered
+     */
+    public static boolean registerBundle(Plugin plugin, String namespace, String root) {
+        try {
+            get().fileManager.registerBundle(TranslationBundle.read(plugin, namespace, root));
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            AtlasLang.getInstance().getLogger().warning(
+                    "Could not register language bundle " + namespace + " of " + plugin.getName() + ": " + e.getMessage()
+            );
+            return false;
+        }
+    }
+
+    /**
+     * Unloads a bundle, usually when the plugin that registered it is disabled.
+     *
+     * @param namespace The bundle namespace
+     */
+    public static void unregisterBundle(String namespace) {
+        get().fileManager.unregisterBundle(namespace);
+    }
+
+    /**
+     * Retrieves a message from a registered bundle for a player.
+     *
+     * @param player    The player
+     * @param namespace The bundle namespace
+     * @param file      The file inside the bundle, without extension
+     * @param path      The language path
+     * @return The translated message
+     */
+    public static String getBundle(Player player, String namespace, String file, String path) {
+        return get().langHandler.get(player, getLanguage(player), namespace + ":" + file, path);
+    }
+
+    /**
+     * Returns a reusable handle to a message of a registered bundle.
+     *
+     * @param namespace The bundle namespace
+     * @param file      The file inside the bundle, without extension
+     * @param path      The language path
+     * @return The message handle
+     */
+    public static MessageKey bundleKey(String namespace, String file, String path) {
+        return new MessageKey(namespace + ":" + file, path);
+    }
+
     /**
      * Retrieves an addon-specific message for a player.
      *
@@ -0,0 +1,127 @@
+package com.github.nautic.api;
+
+import com.github.nautic.database.DatabaseManager;
+import com.github.nautic.manager.LanguageManager;
+import com.github.nautic.utils.addColor;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends one message to many players, grouped by language: each language's
+ * message is looked up, colored and has its replacements applied once, and
+ * only messages that still contain placeholders are rendered per player.
+ *
+ * Must be used from the main thread.
+ */
+final class Broadcaster {
+
+    private Broadcaster() {
+    }
+
+    static void message(Collection<? extends Player> players, String file, String path, String... replacements) {
+        for (Map.Entry<String, List<Player>> group : groupByLanguage(players).entrySet()) {
+            String message = render(group.getKey(), file, path, replacements);
+
+            for (Player player : group.getValue()) {
+                player.sendMessage(forPlayer(player, message));
+            }
+        }
+    }
+
+    static void title(Collection<? extends Player> players, String file, String titlePath, String subtitlePath,
+                      int fadeIn, int stay, int fadeOut, String... replacements) {
+        for (Map.Entry<String, List<Player>> group : groupByLanguage(players).entrySet()) {
+            String title = titlePath != null ? render(group.getKey(), file, titlePath, replacements) : "";
+            String subtitle = subtitlePath != null ? render(group.getKey(), file, subtitlePath, replacements) : "";
+
+            for (Player player : group.getValue()) {
+                player.sendTitle(forPlayer(player, title), forPlayer(player, subtitle), fadeIn, stay, fadeOut);
+            }
+        }
+    }
+
+    static void actionBar(Collection<? extends Player> players, String file, String path, String... replacements) {
+        for (Map.Entry<String, List<Player>> group : groupByLanguage(players).entrySet()) {
+            String message = render(group.getKey(), file, path, replacements);
+            boolean perPlayer = message.indexOf('%') != -1;
+            BaseComponent[] shared = perPlayer ? null : TextComponent.fromLegacyText(message);
+
+            for (Player player : group.getValue()) {
+                player.spigot().sendMessage(
+                        ChatMessageType.ACTION_BAR,
+                        perPlayer ? TextComponent.fromLegacyText(addColor.ApplyPlaceholders(player, message)) : shared
+                );
+            }
+        }
+    }
+
+    static List<BossBar> bossBar(Collection<? extends Player> players, String file, String path,
+                                 BarColor color, BarStyle style, String... replacements) {
+        List<BossBar> bars = new ArrayList<>();
+
+        for (Map.Entry<String, List<Player>> group : groupByLanguage(players).entrySet()) {
+            String message = render(group.getKey(), file, path, replacements);
+
+            if (message.indexOf('%') == -1) {
+                BossBar bar = Bukkit.createBossBar(message, color, style);
+                group.getValue().forEach(bar::addPlayer);
+                bars.add(bar);
+                continue;
+            }
+
+            for (Player player : group.getValue()) {
+                BossBar bar = Bukkit.createBossBar(addColor.ApplyPlaceholders(player, message), color, style);
+                bar.addPlayer(player);
+                bars.add(bar);
+            }
+        }
+
+        return bars;
+    }
+
+    private static Map<String, List<Player>> groupByLanguage(Collection<? extends Player> players) {
+        LanguageManager languageManager = AtlasAPI.getLanguageManager();
+        String defaultLang = languageManager.getDefaultLang();
+
+        Map<String, List<Player>> groups = new HashMap<>();
+
+        for (Player player : players) {
+            String lang = languageManager.resolveLanguageStrict(
+                    DatabaseManager.getDatabase().getLanguagePlayer(player.getUniqueId())
+            );
+            groups.computeIfAbsent(lang != null ? lang : defaultLang, l -> new ArrayList<>()).add(player);
+        }
+
+        return groups;
+    }
+
+    private static String render(String lang, String file, String path, String... replacements) {
+        if (replacements.length % 2 != 0) {
+            throw new IllegalArgumentException("Replacements must be placeholder and value pairs");
+        }
+
+        String message = AtlasAPI.getLangHandler().get(lang, file, path);
+
+        for (int i = 0; i < replacements.length; i += 2) {
+            message = message.replace(replacements[i], replacements[i + 1]);
+        }
+
+        return message;
+    }
+
+    private static String forPlayer(Player player, String message) {
+        return message.indexOf('%') != -1 ? addColor.ApplyPlaceholders(player, message) : message;
+    }
+}
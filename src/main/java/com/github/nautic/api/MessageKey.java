@@ -0,0 +1,141 @@
+package com.github.nautic.api;
+
+import com.github.nautic.manager.FileManager;
+import com.github.nautic.manager.TranslationStore;
+import com.github.nautic.utils.addColor;
+import org.bukkit.entity.Player;
+
+/**
+ * Reusable handle to a message, obtained with {@link AtlasAPI#key(String, String)}.
+ *
+ * The handle binds once to the slot of its path in the compiled translation
+ * store and binds again automatically after a reload, so reading a message
+ * is a single array access for the language of the player. Handles are
+ * thread safe and meant to be kept, for example in static fields.
+ *
+ * Anything that is not a plain hit (a file that is not loaded yet, a
+ * missing translation) goes through {@link com.github.nautic.handler.LangHandler},
+ * so the result is always the same as {@code getLangHandler().get(...)}.
+ */
+public final class MessageKey {
+
+    private final String file;
+    private final String fileKey;
+    private final String path;
+
+    private volatile int slot = -1;
+    private volatile long boundVersion = -1;
+
+    MessageKey(String file, String path) {
+        this.file = file;
+        this.fileKey = file.toLowerCase();
+        this.path = path;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the message in the language of a player, with their
+     * placeholders applied.
+     *
+     * @param player The player
+     * @return The translated message
+     */
+    public String get(Player player) {
+        return get(player, AtlasAPI.getLanguage(player));
+    }
+
+    /**
+     * Returns the message in a language.
+     *
+     * @param langInput The language input (alias, locale, or key)
+     * @return The translated message
+     */
+    public String get(String langInput) {
+        return get(null, langInput);
+    }
+
+    /**
+     * Returns the message in a language, with the placeholders of a player
+     * applied.
+     *
+     * @param player    The player, or null
+     * @param langInput The language input (alias, locale, or key)
+     * @return The translated message
+     */
+    public String get(Player player, String langInput) {
+        String lang = AtlasAPI.getLanguageManager().resolveLanguageStrict(langInput);
+        if (lang == null) {
+            lang = AtlasAPI.getDefaultLanguage();
+        }
+
+        if (!lang.equals(fileKey)) {
+            String value = lookup(lang);
+
+            if (value != null) {
+                if (player == null || value.indexOf('%') == -1) return value;
+                return addColor.ApplyPlaceholders(player, value);
+            }
+        }
+
+        return AtlasAPI.getLangHandler().get(player, lang, file, path);
+    }
+
+    /**
+     * Returns the message in the language of a player with its ICU
+     * arguments filled in.
+     *
+     * @param player The player
+     * @param args   Argument name and value pairs, e.g. "count", 5
+     * @return The formatted message
+     */
+    public String format(Player player, Object... args) {
+        return AtlasAPI.getLangHandler().format(player, AtlasAPI.getLanguage(player), file, path, AtlasAPI.arguments(args));
+    }
+
+    /**
+     * Returns the message in a language with its ICU arguments filled in.
+     *
+     * @param langInput The language input (alias, locale, or key)
+     * @param args      Argument name and value pairs
+     * @return The formatted message
+     */
+    public String format(String langInput, Object... args) {
+        return AtlasAPI.getLangHandler().format(null, langInput, file, path, AtlasAPI.arguments(args));
+    }
+
+    private String lookup(String lang) {
+        FileManager fileManager = AtlasAPI.getFileManager();
+        TranslationStore store = fileManager.getStore();
+
+        long version = store.getVersion();
+        int bound = slot;
+
+        if (boundVersion != version) {
+            bound = store.slot(lang, fileKey, path);
+            slot = bound;
+            boundVersion = version;
+        }
+
+        if (bound < 0) return null;
+
+        String value = store.get(lang, bound);
+
+        if (value != null && fileManager.isLazy()) {
+            store.access(lang, fileKey);
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return file + ":" + path;
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.nautic.api.event;
+
+import com.github.nautic.manager.FileChangeSet;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+/**
+ * Called after language files were reloaded and the new translations are
+ * visible. Plugins that cache rendered messages should drop the entries of
+ * the changed files, or everything when they do not track files.
+ *
+ * The event is asynchronous when the reload ran off the main thread, for
+ * example from the hot reload watcher.
+ */
+public class LanguageReloadEvent extends Event {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final long version;
+    private final FileChangeSet changes;
+
+    public LanguageReloadEvent(long version, FileChangeSet changes) {
+        super(!Bukkit.isPrimaryThread());
+        this.version = version;
+        this.changes = changes;
+    }
+
+    /**
+     * @return The version of the translation store after the reload; it
+     * grows every time translations change
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return The files that were added, modified or removed, as lang:file ids
+     */
+    public FileChangeSet getChanges() {
+        return changes;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
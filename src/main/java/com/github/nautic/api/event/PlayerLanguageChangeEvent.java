@@ -0,0 +1,95 @@
+package com.github.nautic.api.event;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.util.UUID;
+
+/**
+ * Called before the language of a player is changed. Cancelling it keeps the
+ * previous language.
+ *
+ * The event is asynchronous when the change was requested off the main
+ * thread, for example through {@link com.github.nautic.api.AtlasAPI#async()}.
+ */
+public class PlayerLanguageChangeEvent extends Event implements Cancellable {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    /**
+     * What requested the language change.
+     */
+    public enum Cause {
+        /** The player used a language command. */
+        COMMAND,
+        /** An admin used /atlaslang set. */
+        ADMIN_SET,
+        /** An admin used /atlaslang reset. */
+        ADMIN_RESET,
+        /** Another plugin called AtlasAPI.setLanguage. */
+        API
+    }
+
+    private final UUID uuid;
+    private final String previousLanguage;
+    private final String newLanguage;
+    private final Cause cause;
+
+    private boolean cancelled;
+
+    public PlayerLanguageChangeEvent(UUID uuid, String previousLanguage, String newLanguage, Cause cause) {
+        super(!Bukkit.isPrimaryThread());
+        this.uuid = uuid;
+        this.previousLanguage = previousLanguage;
+        this.newLanguage = newLanguage;
+        this.cause = cause;
+    }
+
+    public UUID getUniqueId() {
+        return uuid;
+    }
+
+    /**
+     * @return The player, or null if they are offline
+     */
+    public Player getPlayer() {
+        return Bukkit.getPlayer(uuid);
+    }
+
+    /**
+     * @return The language before the change, or null if the player never set one
+     */
+    public String getPreviousLanguage() {
+        return previousLanguage;
+    }
+
+    public String getNewLanguage() {
+        return newLanguage;
+    }
+
+    public Cause getCause() {
+        return cause;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -1,38 +1,73 @@
 package com.github.nautic.commands;
 
 import com.github.nautic.AtlasLang;
+import com.github.nautic.api.event.PlayerLanguageChangeEvent;
 import com.github.nautic.database.DatabaseManager;
 import com.github.nautic.github.GitHubConfig;
 import com.github.nautic.github.GitHubSyncResult;
+import com.github.nautic.github.GitHubSyncStats;
 import com.github.nautic.handler.LangHandler;
+import com.github.nautic.manager.FileChangeSet;
 import com.github.nautic.manager.LanguageManager;
 import com.github.nautic.utils.addColor;
 import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
 
 public class ALCommands implements CommandExecutor {
 
+    /** Subcommands with an I/O stage, always run through the pipeline. */
+    private static final Set<String> IO_COMMANDS = Set.of("set", "reset", "info");
+
     private final AtlasLang plugin;
     private final LanguageManager languageManager;
     private final LangHandler lang;
+    private final CommandPipeline pipeline;
+    private final PlayerResolver players;
 
     public ALCommands(AtlasLang plugin) {
         this.plugin = plugin;
         this.languageManager = plugin.getLanguageManager();
         this.lang = plugin.getLangHandler();
+        this.pipeline = plugin.getCommandPipeline();
+        this.players = new PlayerResolver(plugin);
     }
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
 
-        String userLang = resolveUserLang(sender);
+        String subCommand = args.length == 0 ? "" : args[0].toLowerCase();
+
+        if (!IO_COMMANDS.contains(subCommand) && !pipeline.isBusy(sender) && isUserLangCached(sender)) {
+            execute(sender, args, resolveUserLang(sender));
+            return true;
+        }
+
+        pipeline.submit(sender, () -> {
+            String userLang = resolveUserLang(sender);
+
+            return switch (subCommand) {
+                case "set" -> set(sender, args, userLang);
+                case "reset" -> reset(sender, args, userLang);
+                case "info" -> info(sender, args, userLang);
+                default -> () -> execute(sender, args, userLang);
+            };
+        });
+        return true;
+    }
+
+    /**
+     * Runs a subcommand that needs no I/O besides the language of the
+     * sender. Main thread only.
+     */
+    private void execute(CommandSender sender, String[] args, String userLang) {
 
         if (args.length == 0) {
             sender.sendMessage("");
@@ -46,20 +81,20 @@ public class ALCommands implements CommandExecutor {
             ));
 
             sender.sendMessage("");
-            return true;
+            return;
         }
 
         switch (args[0].toLowerCase()) {
 
             case "help": {
                 sendHelp(sender, userLang);
-                return true;
+                return;
             }
 
             case "list": {
                 if (!sender.hasPermission("atlaslang.list") && !sender.hasPermission("atlaslang.admin")) {
                     noPerm(sender, userLang);
-                    return true;
+                    return;
                 }
 
                 sender.sendMessage(addColor.Set(
@@ -73,14 +108,14 @@ public class ALCommands implements CommandExecutor {
                                     .replace("{language}", entry.getValue())
                     ));
                 }
-                return true;
+                return;
             }
 
             case "aliases": {
                 if (!sender.hasPermission("atlaslang.aliases")
                         && !sender.hasPermission("atlaslang.admin")) {
                     noPerm(sender, userLang);
-                    return true;
+                    return;
                 }
 
                 sender.sendMessage(addColor.Set(
@@ -93,68 +128,7 @@ public class ALCommands implements CommandExecutor {
                                     .replace("{command}", "/" + cmd)
                     ));
                 }
-                return true;
-            }
-
-            case "set": {
-                if (!sender.hasPermission("atlaslang.set") && !sender.hasPermission("atlaslang.admin")) {
-                    noPerm(sender, userLang);
-                    return true;
-                }
-
-                if (args.length != 3) {
-                    sender.sendMessage(addColor.Set(
-                            lang.get(userLang, userLang, "usage.set")
-                    ));
-                    return true;
-                }
-
-                OfflinePlayer target = Bukkit.getOfflinePlayer(args[1]);
-                UUID uuid = target.getUniqueId();
-
-                String resolved = languageManager.resolveLanguageStrict(args[2]);
-                if (resolved == null) {
-                    sender.sendMessage(addColor.Set(
-                            lang.get(userLang, userLang, "errors.language-not-found")
-                                    .replace("{input}", args[2])
-                    ));
-                    return true;
-                }
-
-                DatabaseManager.getDatabase().setLanguagePlayer(uuid, resolved);
-
-                sender.sendMessage(addColor.Set(
-                        lang.get(userLang, userLang, "success.other-language-set")
-                                .replace("{player}", target.getName())
-                                .replace("{language}", resolved)
-                ));
-                return true;
-            }
-
-            case "reset": {
-                if (!sender.hasPermission("atlaslang.reset") && !sender.hasPermission("atlaslang.admin")) {
-                    noPerm(sender, userLang);
-                    return true;
-                }
-
-                if (args.length != 2) {
-                    sender.sendMessage(addColor.Set(
-                            lang.get(userLang, userLang, "usage.reset")
-                    ));
-                    return true;
-                }
-
-                OfflinePlayer target = Bukkit.getOfflinePlayer(args[1]);
-                DatabaseManager.getDatabase().setLanguagePlayer(
-                        target.getUniqueId(),
-                        languageManager.getDefaultLang()
-                );
-
-                sender.sendMessage(addColor.Set(
-                        lang.get(userLang, userLang, "success.reset")
-                                .replace("{player}", target.getName())
-                ));
-                return true;
+                return;
             }
 
             case "github": {
@@ -162,14 +136,14 @@ public class ALCommands implements CommandExecutor {
                 if (!sender.hasPermission("atlaslang.github")
                         && !sender.hasPermission("atlaslang.admin")) {
                     noPerm(sender, userLang);
-                    return true;
+                    return;
                 }
 
                 if (args.length != 2) {
                     sender.sendMessage(addColor.Set(
                             lang.get(userLang, userLang, "github.usage")
                     ));
-                    return true;
+                    return;
                 }
 
                 if (args[1].equalsIgnoreCase("sync")) {
@@ -199,7 +173,7 @@ public class ALCommands implements CommandExecutor {
                         });
                     });
 
-                    return true;
+                    return;
                 }
 
                 if (args[1].equalsIgnoreCase("status")) {
@@ -255,66 +229,294 @@ public class ALCommands implements CommandExecutor {
                                     .replace("{value}", String.valueOf(cfg.reloadAfterSync))
                     ));
 
-                    return true;
+                    sendLastSync(sender, userLang);
+                    return;
                 }
 
                 sender.sendMessage(addColor.Set(
                         lang.get(userLang, userLang, "github.usage")
                 ));
-                return true;
+                return;
             }
 
-            case "info": {
-                if (!sender.hasPermission("atlaslang.info") && !sender.hasPermission("atlaslang.admin")) {
+            case "lookup": {
+                if (!sender.hasPermission("atlaslang.lookup") && !sender.hasPermission("atlaslang.admin")) {
                     noPerm(sender, userLang);
-                    return true;
+                    return;
                 }
 
-                if (args.length != 2) {
+                if (args.length != 4) {
+                    sender.sendMessage(addColor.Set(
+                            lang.get(userLang, userLang, "usage.lookup")
+                    ));
+                    return;
+                }
+
+                String resolved = languageManager.resolveLanguageStrict(args[1]);
+                if (resolved == null) {
+                    sender.sendMessage(addColor.Set(
+                            lang.get(userLang, userLang, "errors.language-not-found")
+                                    .replace("{input}", args[1])
+                    ));
+                    return;
+                }
+
+                sender.sendMessage(addColor.Set(
+                        lang.get(userLang, userLang, "lookup.header")
+                                .replace("{language}", resolved)
+                                .replace("{file}", args[2])
+                                .replace("{path}", args[3])
+                ));
+                sender.sendMessage(addColor.Set(
+                        lang.get(sender instanceof Player player ? player : null, resolved, args[2], args[3])
+                ));
+                return;
+            }
+
+            case "edit": {
+                if (!sender.hasPermission("atlaslang.edit") && !sender.hasPermission("atlaslang.admin")) {
+                    noPerm(sender, userLang);
+                    return;
+                }
+
+                if (args.length < 5) {
                     sender.sendMessage(addColor.Set(
-                            lang.get(userLang, userLang, "usage.info")
+                            lang.get(userLang, userLang, "usage.edit")
                     ));
-                    return true;
+                    return;
                 }
 
-                OfflinePlayer target = Bukkit.getOfflinePlayer(args[1]);
-                String targetLang = DatabaseManager.getDatabase()
-                        .getLanguagePlayer(target.getUniqueId());
+                String resolved = languageManager.resolveLanguageStrict(args[1]);
+                if (resolved == null) {
+                    sender.sendMessage(addColor.Set(
+                            lang.get(userLang, userLang, "errors.language-not-found")
+                                    .replace("{input}", args[1])
+                    ));
+                    return;
+                }
 
-                if (targetLang == null || !languageManager.isRegisteredLanguage(targetLang)) {
-                    targetLang = languageManager.getDefaultLang();
+                String value = String.join(" ", Arrays.copyOfRange(args, 4, args.length));
+
+                if (!plugin.getFileManager().setTranslation(resolved, args[2], args[3], value)) {
+                    sender.sendMessage(addColor.Set(
+                            lang.get(userLang, userLang, "errors.file-not-found")
+                                    .replace("{file}", args[2])
+                                    .replace("{language}", resolved)
+                    ));
+                    return;
                 }
 
                 sender.sendMessage(addColor.Set(
-                        lang.get(userLang, userLang, "info.format")
-                                .replace("{player}", target.getName())
-                                .replace("{language}", targetLang)
+                        lang.get(userLang, userLang, "success.edit")
+                                .replace("{language}", resolved)
+                                .replace("{file}", args[2])
+                                .replace("{path}", args[3])
                 ));
-                return true;
+                return;
             }
 
             case "reload": {
                 if (!sender.hasPermission("atlaslang.reload") && !sender.hasPermission("atlaslang.admin")) {
                     noPerm(sender, userLang);
-                    return true;
+                    return;
                 }
 
-                plugin.reloadConfig();
-                languageManager.reloadLanguages(plugin.getConfig());
+                if (args.length > 3) {
+                    sender.sendMessage(addColor.Set(
+                            lang.get(userLang, userLang, "usage.reload")
+                    ));
+                    return;
+                }
+
+                if (args.length == 1) {
+                    plugin.reloadConfig();
+                    languageManager.reloadLanguages(plugin.getConfig());
+                    plugin.reloadLanguageWatcher();
+                    plugin.reloadGitHubScheduler();
+
+                    sender.sendMessage(addColor.Set(
+                            lang.get(userLang, userLang, "success.reload")
+                    ));
+                    return;
+                }
+
+                String resolved = languageManager.resolveLanguageStrict(args[1]);
+                if (resolved == null) {
+                    sender.sendMessage(addColor.Set(
+                            lang.get(userLang, userLang, "errors.language-not-found")
+                                    .replace("{input}", args[1])
+                    ));
+                    return;
+                }
+
+                if (args.length == 2) {
+                    FileChangeSet changes = languageManager.reloadLanguage(resolved);
+
+                    sender.sendMessage(addColor.Set(
+                            lang.get(userLang, userLang, "success.reload-language")
+                                    .replace("{language}", resolved)
+                                    .replace("{files}", String.valueOf(changes.size()))
+                    ));
+                    return;
+                }
+
+                String file = args[2].replace("\\", "/").replace(".yml", "").toLowerCase();
+                FileChangeSet changes = languageManager.reloadFile(resolved, file);
+
+                if (!plugin.getFileManager().isLoaded(resolved + ":" + file) && changes.isEmpty()) {
+                    sender.sendMessage(addColor.Set(
+                            lang.get(userLang, userLang, "errors.file-not-found")
+                                    .replace("{file}", file)
+                                    .replace("{language}", resolved)
+                    ));
+                    return;
+                }
 
                 sender.sendMessage(addColor.Set(
-                        lang.get(userLang, userLang, "success.reload")
+                        lang.get(userLang, userLang, "success.reload-file")
+                                .replace("{file}", file)
+                                .replace("{language}", resolved)
+                                .replace("{files}", String.valueOf(changes.size()))
                 ));
-                return true;
+                return;
             }
 
             default: {
                 sendHelp(sender, userLang);
-                return true;
+                return;
             }
         }
     }
 
+    /*
+     * I/O stages: these run off the main thread, in the command pipeline, and
+     * return the reply to send on the main thread.
+     */
+
+    private Runnable set(CommandSender sender, String[] args, String userLang) {
+        if (!sender.hasPermission("atlaslang.set") && !sender.hasPermission("atlaslang.admin")) {
+            return () -> noPerm(sender, userLang);
+        }
+
+        if (args.length != 3) {
+            return () -> sender.sendMessage(addColor.Set(
+                    lang.get(userLang, userLang, "usage.set")
+            ));
+        }
+
+        String resolved = languageManager.resolveLanguageStrict(args[2]);
+        if (resolved == null) {
+            return () -> sender.sendMessage(addColor.Set(
+                    lang.get(userLang, userLang, "errors.language-not-found")
+                            .replace("{input}", args[2])
+            ));
+        }
+
+        PlayerResolver.Target target = players.lookup(args[1]);
+
+        if (!languageManager.setPlayerLanguage(target.getUniqueId(), resolved, PlayerLanguageChangeEvent.Cause.ADMIN_SET)) {
+            return () -> sender.sendMessage(addColor.Set(
+                    lang.get(userLang, userLang, "errors.language-change-cancelled")
+            ));
+        }
+
+        return () -> sender.sendMessage(addColor.Set(
+                lang.get(userLang, userLang, "success.other-language-set")
+                        .replace("{player}", target.getName())
+                        .replace("{language}", resolved)
+        ));
+    }
+
+    private Runnable reset(CommandSender sender, String[] args, String userLang) {
+        if (!sender.hasPermission("atlaslang.reset") && !sender.hasPermission("atlaslang.admin")) {
+            return () -> noPerm(sender, userLang);
+        }
+
+        if (args.length != 2) {
+            return () -> sender.sendMessage(addColor.Set(
+                    lang.get(userLang, userLang, "usage.reset")
+            ));
+        }
+
+        PlayerResolver.Target target = players.lookup(args[1]);
+
+        if (!languageManager.setPlayerLanguage(
+                target.getUniqueId(),
+                languageManager.getDefaultLang(),
+                PlayerLanguageChangeEvent.Cause.ADMIN_RESET
+        )) {
+            return () -> sender.sendMessage(addColor.Set(
+                    lang.get(userLang, userLang, "errors.language-change-cancelled")
+            ));
+        }
+
+        return () -> sender.sendMessage(addColor.Set(
+                lang.get(userLang, userLang, "success.reset")
+                        .replace("{player}", target.getName())
+        ));
+    }
+
+    private Runnable info(CommandSender sender, String[] args, String userLang) {
+        if (!sender.hasPermission("atlaslang.info") && !sender.hasPermission("atlaslang.admin")) {
+            return () -> noPerm(sender, userLang);
+        }
+
+        if (args.length != 2) {
+            return () -> sender.sendMessage(addColor.Set(
+                    lang.get(userLang, userLang, "usage.info")
+            ));
+        }
+
+        PlayerResolver.Target target = players.lookup(args[1]);
+        String stored = DatabaseManager.getDatabase().getLanguagePlayer(target.getUniqueId());
+
+        String targetLang = stored == null || !languageManager.isRegisteredLanguage(stored)
+                ? languageManager.getDefaultLang()
+                : stored;
+
+        return () -> sender.sendMessage(addColor.Set(
+                lang.get(userLang, userLang, "info.format")
+                        .replace("{player}", target.getName())
+                        .replace("{language}", targetLang)
+        ));
+    }
+
+    private void sendLastSync(CommandSender sender, String userLang) {
+        GitHubSyncStats stats = plugin.getGitHubSyncManager().getLastSync();
+
+        if (stats == null) {
+            sender.sendMessage(addColor.Set(
+                    lang.get(userLang, userLang, "github.status.last-sync-none")
+            ));
+            return;
+        }
+
+        sender.sendMessage(addColor.Set(
+                lang.get(userLang, userLang, "github.status.last-sync")
+                        .replace("{result}", stats.result.name().toLowerCase())
+                        .replace("{time}", String.valueOf(stats.millis))
+        ));
+
+        sender.sendMessage(addColor.Set(
+                lang.get(userLang, userLang, "github.status.last-sync-files")
+                        .replace("{files}", String.valueOf(stats.getChangedFiles()))
+                        .replace("{added}", String.valueOf(stats.added))
+                        .replace("{modified}", String.valueOf(stats.modified))
+                        .replace("{deleted}", String.valueOf(stats.deleted))
+                        .replace("{reloaded}", String.valueOf(stats.reloaded))
+        ));
+
+        sender.sendMessage(addColor.Set(
+                lang.get(userLang, userLang, "github.status.last-sync-download")
+                        .replace("{bytes}", String.format(Locale.ROOT, "%.1f KB", stats.bytes / 1024.0))
+                        .replace("{commit}", stats.commit != null ? stats.commit.substring(0, Math.min(7, stats.commit.length())) : "-")
+        ));
+    }
+
+    private boolean isUserLangCached(CommandSender sender) {
+        return !(sender instanceof Player player) || DatabaseManager.isLanguageCached(player.getUniqueId());
+    }
+
     private String resolveUserLang(CommandSender sender) {
         if (sender instanceof Player player) {
             String langCode = DatabaseManager.getDatabase()
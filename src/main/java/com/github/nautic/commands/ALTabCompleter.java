@@ -2,11 +2,9 @@ package com.github.nautic.commands;
 
 import com.github.nautic.AtlasLang;
 import com.github.nautic.manager.LanguageManager;
-import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
-import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,12 +13,12 @@ import java.util.stream.Collectors;
 
 public class ALTabCompleter implements TabCompleter {
 
-    private final AtlasLang plugin;
     private final LanguageManager languageManager;
+    private final CompletionManager completions;
 
-    public ALTabCompleter(AtlasLang plugin) {
-        this.plugin = plugin;
+    public ALTabCompleter(AtlasLang plugin, CompletionManager completions) {
         this.languageManager = plugin.getLanguageManager();
+        this.completions = completions;
     }
 
     @Override
@@ -30,6 +28,14 @@ public class ALTabCompleter implements TabCompleter {
             String alias,
             String[] args
     ) {
+        return complete(sender, args);
+    }
+
+    /**
+     * Computes the completions of /atlaslang. Only reads prefix indexes, so
+     * it is safe to call from the async tab complete event.
+     */
+    public List<String> complete(CommandSender sender, String[] args) {
 
         if (args.length == 1) {
             return filter(args[0], getAvailableSubCommands(sender));
@@ -42,12 +48,21 @@ public class ALTabCompleter implements TabCompleter {
                 case "reset":
                 case "info":
                     if (!hasPermission(sender, args[0])) return List.of();
-                    return filter(args[1], getOnlinePlayers());
+                    return completions.players(args[1]);
 
                 case "github":
                     if (!hasPermission(sender, "github")) return List.of();
                     return filter(args[1], List.of("sync", "status"));
 
+                case "reload":
+                    if (!hasPermission(sender, "reload")) return List.of();
+                    return completions.languages(args[1]);
+
+                case "lookup":
+                case "edit":
+                    if (!hasPermission(sender, args[0])) return List.of();
+                    return completions.languages(args[1]);
+
                 default:
                     return List.of();
             }
@@ -56,10 +71,31 @@ public class ALTabCompleter implements TabCompleter {
         if (args.length == 3) {
             if (args[0].equalsIgnoreCase("set")) {
                 if (!hasPermission(sender, "set")) return List.of();
-                return filter(args[2], getLanguages());
+                return completions.locales(args[2]);
+            }
+
+            if (args[0].equalsIgnoreCase("reload")) {
+                if (!hasPermission(sender, "reload")) return List.of();
+                return getLanguageFiles(args[1], args[2]).stream()
+                        .filter(file -> file.indexOf(':') == -1)
+                        .collect(Collectors.toList());
+            }
+
+            if (args[0].equalsIgnoreCase("lookup") || args[0].equalsIgnoreCase("edit")) {
+                if (!hasPermission(sender, args[0])) return List.of();
+                return getLanguageFiles(args[1], args[2]);
             }
         }
 
+        if (args.length == 4 && (args[0].equalsIgnoreCase("lookup") || args[0].equalsIgnoreCase("edit"))) {
+            if (!hasPermission(sender, args[0])) return List.of();
+
+            String resolved = languageManager.resolveLanguageStrict(args[1]);
+            if (resolved == null) return List.of();
+
+            return completions.paths(resolved, args[2], args[3]);
+        }
+
         return List.of();
     }
 
@@ -73,6 +109,8 @@ public class ALTabCompleter implements TabCompleter {
         addIfPerm(sender, cmds, "set");
         addIfPerm(sender, cmds, "reset");
         addIfPerm(sender, cmds, "info");
+        addIfPerm(sender, cmds, "lookup");
+        addIfPerm(sender, cmds, "edit");
         addIfPerm(sender, cmds, "reload");
         addIfPerm(sender, cmds, "github");
 
@@ -90,14 +128,11 @@ public class ALTabCompleter implements TabCompleter {
                 || sender.hasPermission("atlaslang." + cmd);
     }
 
-    private List<String> getOnlinePlayers() {
-        return Bukkit.getOnlinePlayers().stream()
-                .map(Player::getName)
-                .collect(Collectors.toList());
-    }
+    private List<String> getLanguageFiles(String langInput, String input) {
+        String resolved = languageManager.resolveLanguageStrict(langInput);
+        if (resolved == null) return List.of();
 
-    private List<String> getLanguages() {
-        return new ArrayList<>(languageManager.getLanguageMap().keySet());
+        return completions.files(resolved, input);
     }
 
     private List<String> filter(String input, List<String> values) {
@@ -108,4 +143,4 @@ public class ALTabCompleter implements TabCompleter {
                 .filter(v -> v.toLowerCase(Locale.ROOT).startsWith(lower))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
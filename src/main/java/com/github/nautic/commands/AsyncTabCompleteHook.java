@@ -0,0 +1,129 @@
+package com.github.nautic.commands;
+
+import com.github.nautic.AtlasLang;
+import com.github.nautic.commands.customs.AliasLangTabCompleter;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Answers tab completion of AtlasLang commands from Paper's
+ * AsyncTabCompleteEvent, so suggestions are computed off the main thread.
+ *
+ * The event is looked up by reflection; on servers without it nothing is
+ * registered and the regular tab completers are used.
+ */
+public final class AsyncTabCompleteHook implements Listener {
+
+    private static final String EVENT_CLASS = "com.destroystokyo.paper.event.server.AsyncTabCompleteEvent";
+
+    private final ALTabCompleter mainCompleter;
+    private final AliasLangTabCompleter aliasCompleter;
+
+    private final Set<String> mainLabels = new HashSet<>();
+    private final Set<String> aliasLabels = new HashSet<>();
+
+    private Method getBuffer;
+    private Method getSender;
+    private Method isCommand;
+    private Method isHandled;
+    private Method setCompletions;
+    private Method setHandled;
+
+    private AsyncTabCompleteHook(AtlasLang plugin, ALTabCompleter mainCompleter, AliasLangTabCompleter aliasCompleter) {
+        this.mainCompleter = mainCompleter;
+        this.aliasCompleter = aliasCompleter;
+
+        mainLabels.add("atlaslang");
+        PluginCommand command = plugin.getCommand("atlaslang");
+        if (command != null && command.getAliases() != null) {
+            command.getAliases().forEach(alias -> mainLabels.add(alias.toLowerCase(Locale.ROOT)));
+        }
+
+        plugin.getMainConfig().getStringList("commands")
+                .forEach(alias -> aliasLabels.add(alias.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Registers the hook if the server provides AsyncTabCompleteEvent.
+     *
+     * @return true if the hook was registered
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean register(AtlasLang plugin, ALTabCompleter mainCompleter, AliasLangTabCompleter aliasCompleter) {
+        Class<? extends Event> eventClass;
+
+        try {
+            eventClass = (Class<? extends Event>) Class.forName(EVENT_CLASS);
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+
+        AsyncTabCompleteHook hook = new AsyncTabCompleteHook(plugin, mainCompleter, aliasCompleter);
+
+        try {
+            hook.getBuffer = eventClass.getMethod("getBuffer");
+            hook.getSender = eventClass.getMethod("getSender");
+            hook.isCommand = eventClass.getMethod("isCommand");
+            hook.isHandled = eventClass.getMethod("isHandled");
+            hook.setCompletions = eventClass.getMethod("setCompletions", List.class);
+            hook.setHandled = eventClass.getMethod("setHandled", boolean.class);
+        } catch (NoSuchMethodException e) {
+            plugin.getLogger().warning("Unsupported AsyncTabCompleteEvent, using regular tab completion.");
+            return false;
+        }
+
+        Bukkit.getPluginManager().registerEvent(
+                eventClass,
+                hook,
+                EventPriority.NORMAL,
+                (listener, event) -> hook.handle(event),
+                plugin,
+                true
+        );
+
+        return true;
+    }
+
+    private void handle(Event event) {
+        try {
+            if ((boolean) isHandled.invoke(event) || !(boolean) isCommand.invoke(event)) return;
+
+            String buffer = (String) getBuffer.invoke(event);
+            if (buffer.startsWith("/")) buffer = buffer.substring(1);
+
+            int space = buffer.indexOf(' ');
+            if (space == -1) return;
+
+            String label = buffer.substring(0, space).toLowerCase(Locale.ROOT);
+            int namespace = label.indexOf(':');
+            if (namespace != -1) label = label.substring(namespace + 1);
+
+            String[] args = buffer.substring(space + 1).split(" ", -1);
+            CommandSender sender = (CommandSender) getSender.invoke(event);
+
+            List<String> completions;
+            if (mainLabels.contains(label)) {
+                completions = mainCompleter.complete(sender, args);
+            } else if (aliasLabels.contains(label)) {
+                completions = aliasCompleter.complete(args);
+            } else {
+                return;
+            }
+
+            setCompletions.invoke(event, completions);
+            setHandled.invoke(event, true);
+        } catch (ReflectiveOperationException e) {
+            // Leave the event to the regular tab completer
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.nautic.commands;
+
+import com.github.nautic.AtlasLang;
+import com.github.nautic.utils.addColor;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the I/O stage of AtlasLang commands (database reads and writes, name
+ * lookups) off the main thread and hands the result back to the main thread
+ * for the reply.
+ *
+ * Commands of the same sender run one after another, in the order they were
+ * submitted: the next I/O stage only starts once the previous reply has
+ * been sent, so two quick commands can never act or answer out of order.
+ * Commands of different senders run in parallel.
+ */
+public final class CommandPipeline {
+
+    private static final String CONSOLE = "console";
+    private static final String FAILED = "&#35ADFF&lAtlasLang &#CDCDCD» &#FF3535The command could not be completed, see the console for details.";
+
+    private final AtlasLang plugin;
+    private final ExecutorService executor;
+    private final Map<Object, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    public CommandPipeline(AtlasLang plugin) {
+        this.plugin = plugin;
+
+        AtomicInteger ids = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "AtlasLang-Command-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs {@code io} off the main thread after every command previously
+     * submitted by the same sender has replied, then runs the reply it
+     * returns on the main thread. If either stage fails, the sender gets a
+     * generic failure message and the error is logged.
+     */
+    public void submit(CommandSender sender, Supplier<Runnable> io) {
+        Object key = key(sender);
+
+        CompletableFuture<Void> next = tails.compute(key, (k, tail) -> {
+            CompletableFuture<Void> previous = tail != null ? tail : CompletableFuture.completedFuture(null);
+
+            return previous
+                    .thenApplyAsync(ignored -> io.get(), executor)
+                    .thenCompose(this::reply)
+                    .exceptionally(error -> {
+                        plugin.getLogger().warning("Command of " + sender.getName() + " failed: " + error.getMessage());
+                        Bukkit.getScheduler().runTask(plugin, () -> {
+                            if (!(sender instanceof Player player) || player.isOnline()) {
+                                sender.sendMessage(addColor.Set(FAILED));
+                            }
+                        });
+                        return null;
+                    });
+        });
+
+        next.whenComplete((ignored, error) -> tails.remove(key, next));
+    }
+
+    /**
+     * Returns true if the sender has stages still running, in which case a
+     * new command must go through {@link #submit} to keep its order.
+     */
+    public boolean isBusy(CommandSender sender) {
+        return tails.containsKey(key(sender));
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CompletableFuture<Void> reply(Runnable reply) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            try {
+                reply.run();
+            } finally {
+                done.complete(null);
+            }
+        });
+
+        return done;
+    }
+
+    private static Object key(CommandSender sender) {
+        return sender instanceof Player player ? player.getUniqueId() : CONSOLE;
+    }
+}
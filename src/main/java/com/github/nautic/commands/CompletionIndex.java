@@ -0,0 +1,76 @@
+package com.github.nautic.commands;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable, case-insensitive prefix index of completion candidates.
+ *
+ * Candidates are sorted once when the index is built, so a completion is a
+ * binary search for the first match followed by a scan over the matching
+ * range, returned already in order.
+ */
+public final class CompletionIndex {
+
+    public static final CompletionIndex EMPTY = new CompletionIndex(new String[0], new String[0]);
+
+    private final String[] keys;
+    private final String[] values;
+
+    private CompletionIndex(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    public static CompletionIndex of(Collection<String> candidates) {
+        String[] values = candidates.stream()
+                .distinct()
+                .sorted(Comparator.comparing((String value) -> value.toLowerCase(Locale.ROOT)))
+                .toArray(String[]::new);
+
+        String[] keys = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = values[i].toLowerCase(Locale.ROOT);
+        }
+
+        return new CompletionIndex(keys, values);
+    }
+
+    /**
+     * Returns every candidate starting with the input, ignoring case.
+     */
+    public List<String> complete(String input) {
+        if (input.isEmpty()) {
+            return Collections.unmodifiableList(Arrays.asList(values));
+        }
+
+        String prefix = input.toLowerCase(Locale.ROOT);
+
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        List<String> result = new ArrayList<>();
+        for (int i = low; i < keys.length && keys[i].startsWith(prefix); i++) {
+            result.add(values[i]);
+        }
+
+        return result;
+    }
+
+    public int size() {
+        return values.length;
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.nautic.commands;
+
+import com.github.nautic.AtlasLang;
+import com.github.nautic.manager.LanguageManager;
+import com.github.nautic.manager.LocaleIndex;
+import com.github.nautic.manager.TranslationStore;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Completion candidates for every AtlasLang command, kept in prefix indexes.
+ *
+ * Player names are re-indexed on join and quit, locales and languages when
+ * the registered languages change, and file and path candidates when the
+ * translation store publishes a new version. Reading is lock free, so
+ * completions can be computed from any thread.
+ */
+public class CompletionManager implements Listener {
+
+    private final LanguageManager languageManager;
+    private final TranslationStore store;
+
+    private volatile CompletionIndex players = CompletionIndex.EMPTY;
+
+    private volatile Languages languages;
+    private volatile Files files;
+
+    private final Map<String, CompletionIndex> paths = new ConcurrentHashMap<>();
+    private volatile long pathsVersion = -1;
+
+    public CompletionManager(AtlasLang plugin) {
+        this.languageManager = plugin.getLanguageManager();
+        this.store = plugin.getFileManager().getStore();
+
+        rebuildPlayers(null);
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        rebuildPlayers(null);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        rebuildPlayers(event.getPlayer());
+    }
+
+    public List<String> players(String input) {
+        return players.complete(input);
+    }
+
+    public List<String> locales(String input) {
+        return languages().locales.complete(input);
+    }
+
+    public List<String> languages(String input) {
+        return languages().folders.complete(input);
+    }
+
+    /**
+     * Completes the loaded files of a language, as relative paths without
+     * extension (bundle files as namespace:file).
+     */
+    public List<String> files(String lang, String input) {
+        Files current = files;
+        long version = store.getVersion();
+
+        if (current == null || current.version != version) {
+            current = buildFiles(version);
+            files = current;
+        }
+
+        return current.byLanguage.getOrDefault(lang, CompletionIndex.EMPTY).complete(input);
+    }
+
+    /**
+     * Completes the translation paths of a loaded file.
+     */
+    public List<String> paths(String lang, String file, String input) {
+        long version = store.getVersion();
+
+        if (pathsVersion != version) {
+            paths.clear();
+            pathsVersion = version;
+        }
+
+        return paths.computeIfAbsent(lang + ":" + file, key -> CompletionIndex.of(store.getPaths(lang, file)))
+                .complete(input);
+    }
+
+    private void rebuildPlayers(Player leaving) {
+        List<String> names = new ArrayList<>();
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (player != leaving) names.add(player.getName());
+        }
+
+        players = CompletionIndex.of(names);
+    }
+
+    private Languages languages() {
+        Languages current = languages;
+        LocaleIndex source = languageManager.getLocaleIndex();
+
+        if (current == null || current.source != source) {
+            current = new Languages(
+                    source,
+                    CompletionIndex.of(languageManager.getRegisteredLocales()),
+                    CompletionIndex.of(languageManager.getRegisteredLanguages())
+            );
+            languages = current;
+        }
+
+        return current;
+    }
+
+    private Files buildFiles(long version) {
+        Map<String, List<String>> byLanguage = new HashMap<>();
+
+        for (String id : store.getFileIds()) {
+            int split = id.indexOf(':');
+            byLanguage.computeIfAbsent(id.substring(0, split), l -> new ArrayList<>()).add(id.substring(split + 1));
+        }
+
+        Map<String, CompletionIndex> indexes = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : byLanguage.entrySet()) {
+            indexes.put(entry.getKey(), CompletionIndex.of(entry.getValue()));
+        }
+
+        return new Files(version, indexes);
+    }
+
+    private static final class Languages {
+
+        private final LocaleIndex source;
+        private final CompletionIndex locales;
+        private final CompletionIndex folders;
+
+        private Languages(LocaleIndex source, CompletionIndex locales, CompletionIndex folders) {
+            this.source = source;
+            this.locales = locales;
+            this.folders = folders;
+        }
+    }
+
+    private static final class Files {
+
+        private final long version;
+        private final Map<String, CompletionIndex> byLanguage;
+
+        private Files(long version, Map<String, CompletionIndex> byLanguage) {
+            this.version = version;
+            this.byLanguage = byLanguage;
+        }
+    }
+}
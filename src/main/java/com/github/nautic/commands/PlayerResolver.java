@@ -0,0 +1,125 @@
+package com.github.nautic.commands;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves player names typed in commands to UUIDs, from the I/O stage of
+ * the command pipeline so the main thread never waits on a profile lookup.
+ *
+ * Names of players seen joining or quitting are answered from memory.
+ * Anything else goes through {@link Bukkit#getOfflinePlayer(String)}, which
+ * checks online players and the server's user cache before asking Mojang.
+ * Results are kept in a bounded cache with a TTL.
+ */
+public class PlayerResolver implements Listener {
+
+    private static final int MAX_ENTRIES = 1024;
+    private static final long TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    /** lowercase name -> resolved player, in access order. */
+    private final Map<String, Entry> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public PlayerResolver(Plugin plugin) {
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Resolves a name, looking it up if it is not cached. May block on the
+     * network, so it must not be called from the main thread.
+     */
+    public Target lookup(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+
+        Target cached = cached(key);
+        if (cached != null) return cached;
+
+        OfflinePlayer player = Bukkit.getOfflinePlayer(name);
+        Target target = new Target(player.getUniqueId(), player.getName() != null ? player.getName() : name);
+
+        synchronized (cache) {
+            cache.put(key, new Entry(target));
+        }
+
+        return target;
+    }
+
+    private Target cached(String key) {
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry == null) return null;
+
+            if (System.nanoTime() - entry.created >= TTL_NANOS) {
+                cache.remove(key);
+                return null;
+            }
+
+            return entry.target;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        remember(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        remember(event.getPlayer());
+    }
+
+    private void remember(Player player) {
+        Target target = new Target(player.getUniqueId(), player.getName());
+
+        synchronized (cache) {
+            cache.put(player.getName().toLowerCase(Locale.ROOT), new Entry(target));
+        }
+    }
+
+    public static final class Target {
+
+        private final UUID uuid;
+        private final String name;
+
+        private Target(UUID uuid, String name) {
+            this.uuid = uuid;
+            this.name = name;
+        }
+
+        public UUID getUniqueId() {
+            return uuid;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final class Entry {
+
+        private final Target target;
+        private final long created = System.nanoTime();
+
+        private Entry(Target target) {
+            this.target = target;
+        }
+    }
+}
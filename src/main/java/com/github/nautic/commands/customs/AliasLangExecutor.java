@@ -1,6 +1,8 @@
 package com.github.nautic.commands.customs;
 
 import com.github.nautic.AtlasLang;
+import com.github.nautic.api.event.PlayerLanguageChangeEvent;
+import com.github.nautic.commands.CommandPipeline;
 import com.github.nautic.database.DatabaseManager;
 import com.github.nautic.handler.LangHandler;
 import com.github.nautic.manager.LanguageManager;
@@ -12,14 +14,14 @@ import org.bukkit.entity.Player;
 
 public class AliasLangExecutor implements CommandExecutor {
 
-    private final AtlasLang plugin;
     private final LanguageManager languageManager;
     private final LangHandler lang;
+    private final CommandPipeline pipeline;
 
     public AliasLangExecutor(AtlasLang plugin) {
-        this.plugin = plugin;
         this.languageManager = plugin.getLanguageManager();
         this.lang = plugin.getLangHandler();
+        this.pipeline = plugin.getCommandPipeline();
     }
 
     @Override
@@ -30,37 +32,46 @@ public class AliasLangExecutor implements CommandExecutor {
             return true;
         }
 
+        pipeline.submit(player, () -> change(player, label, args));
+        return true;
+    }
+
+    /**
+     * I/O stage of the command: reads and stores the language of the player
+     * off the main thread and returns the reply.
+     */
+    private Runnable change(Player player, String label, String[] args) {
+
         String defaultLang = languageManager.getDefaultLang();
-        String playerLang = DatabaseManager.getDatabase()
+        String stored = DatabaseManager.getDatabase()
                 .getLanguagePlayer(player.getUniqueId());
 
-        if (playerLang == null) playerLang = defaultLang;
+        String playerLang = stored != null ? stored : defaultLang;
 
         if (args.length != 1) {
-            player.sendMessage(addColor.Set(
+            return () -> player.sendMessage(addColor.Set(
                     lang.get(playerLang, playerLang, "usage.language-command")
                             .replace("{command}", label)
             ));
-            return true;
         }
 
         String resolved = languageManager.resolveLanguageStrict(args[0]);
         if (resolved == null) {
-            player.sendMessage(addColor.Set(
+            return () -> player.sendMessage(addColor.Set(
                     lang.get(playerLang, playerLang, "errors.language-not-found")
                             .replace("{input}", args[0])
             ));
-            return true;
         }
 
-        DatabaseManager.getDatabase()
-                .setLanguagePlayer(player.getUniqueId(), resolved);
+        if (!languageManager.setPlayerLanguage(player.getUniqueId(), resolved, PlayerLanguageChangeEvent.Cause.COMMAND)) {
+            return () -> player.sendMessage(addColor.Set(
+                    lang.get(playerLang, playerLang, "errors.language-change-cancelled")
+            ));
+        }
 
-        player.sendMessage(addColor.Set(
+        return () -> player.sendMessage(addColor.Set(
                 lang.get(resolved, resolved, "success.language-set")
                         .replace("{language}", resolved).replace("{player}", player.getName())
         ));
-
-        return true;
     }
 }
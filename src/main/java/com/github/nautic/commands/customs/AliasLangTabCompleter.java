@@ -1,21 +1,18 @@
 package com.github.nautic.commands.customs;
 
-import com.github.nautic.AtlasLang;
-import com.github.nautic.manager.LanguageManager;
+import com.github.nautic.commands.CompletionManager;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 public class AliasLangTabCompleter implements TabCompleter {
 
-    private final LanguageManager languageManager;
+    private final CompletionManager completions;
 
-    public AliasLangTabCompleter(AtlasLang plugin) {
-        this.languageManager = plugin.getLanguageManager();
+    public AliasLangTabCompleter(CompletionManager completions) {
+        this.completions = completions;
     }
 
     @Override
@@ -25,18 +22,14 @@ public class AliasLangTabCompleter implements TabCompleter {
             String alias,
             String[] args
     ) {
+        return complete(args);
+    }
 
+    public List<String> complete(String[] args) {
         if (args.length == 1) {
-            String input = args[0].toLowerCase();
-
-            Set<String> locales = languageManager.getRegisteredLocales();
-
-            return locales.stream()
-                    .filter(locale -> locale.startsWith(input))
-                    .sorted()
-                    .collect(Collectors.toList());
+            return completions.locales(args[0]);
         }
 
         return List.of();
     }
-}
\ No newline at end of file
+}
@@ -29,6 +29,8 @@ public class LangsLoader {
             commandMapField.setAccessible(true);
             CommandMap commandMap = (CommandMap) commandMapField.get(Bukkit.getServer());
 
+            AliasLangTabCompleter completer = new AliasLangTabCompleter(plugin.getCompletionManager());
+
             for (String alias : aliases) {
                 alias = alias.toLowerCase();
 
@@ -36,7 +38,7 @@ public class LangsLoader {
                 if (cmd == null) continue;
 
                 cmd.setExecutor(new AliasLangExecutor(plugin));
-                cmd.setTabCompleter(new AliasLangTabCompleter(plugin));
+                cmd.setTabCompleter(completer);
 
                 commandMap.register(plugin.getName(), cmd);
 
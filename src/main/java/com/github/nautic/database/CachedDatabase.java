@@ -0,0 +1,108 @@
+package com.github.nautic.database;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the language of online players in memory so rendering a message does
+ * not query the database. The language is loaded while the player logs in,
+ * updated on every change and dropped when they quit or their login is
+ * refused; lookups for offline players still go to the database.
+ */
+public class CachedDatabase implements Database, Listener {
+
+    private static final String NONE = "";
+
+    private final Database database;
+    private final Map<UUID, String> languages = new ConcurrentHashMap<>();
+
+    public CachedDatabase(Database database) {
+        this.database = database;
+    }
+
+    @Override
+    public void connect() {
+        database.connect();
+    }
+
+    @Override
+    public void load() {
+        database.load();
+    }
+
+    @Override
+    public void close() {
+        languages.clear();
+        database.close();
+    }
+
+    @Override
+    public void setLanguagePlayer(UUID uuid, String language) {
+        database.setLanguagePlayer(uuid, language);
+
+        if (languages.containsKey(uuid) || Bukkit.getPlayer(uuid) != null) {
+            languages.put(uuid, language != null ? language : NONE);
+        }
+    }
+
+    @Override
+    public String getLanguagePlayer(UUID uuid) {
+        String cached = languages.get(uuid);
+        if (cached != null) {
+            return cached.isEmpty() ? null : cached;
+        }
+
+        String language = database.getLanguagePlayer(uuid);
+
+        if (Bukkit.getPlayer(uuid) != null) {
+            languages.put(uuid, language != null ? language : NONE);
+        }
+
+        return language;
+    }
+
+    /**
+     * Returns true if the language of a player is held in memory, so
+     * {@link #getLanguagePlayer(UUID)} will not query the database.
+     */
+    public boolean isCached(UUID uuid) {
+        return languages.containsKey(uuid);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        String language = database.getLanguagePlayer(event.getUniqueId());
+        languages.put(event.getUniqueId(), language != null ? language : NONE);
+    }
+
+    /**
+     * Drops the language loaded at pre-login when the login is refused
+     * afterwards, for example by a ban or a full server, since no quit event
+     * follows.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        if (event.getResult() == PlayerLoginEvent.Result.ALLOWED) return;
+
+        UUID uuid = event.getPlayer().getUniqueId();
+        if (Bukkit.getPlayer(uuid) == null) {
+            languages.remove(uuid);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        languages.remove(event.getPlayer().getUniqueId());
+    }
+}
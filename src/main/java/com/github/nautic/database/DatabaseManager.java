@@ -3,11 +3,16 @@ package com.github.nautic.database;
 import com.github.nautic.AtlasLang;
 import com.github.nautic.database.type.H2;
 import com.github.nautic.database.type.MySQL;
+import org.bukkit.Bukkit;
 import org.bukkit.configuration.ConfigurationSection;
 
+import javax.sql.DataSource;
+import java.util.UUID;
+
 public final class DatabaseManager {
 
     private static Database database;
+    private static Database source;
 
     public static void loadDatabase() {
         AtlasLang plugin = AtlasLang.getInstance();
@@ -26,6 +31,11 @@ public final class DatabaseManager {
             case H2 -> database = new H2(plugin);
         }
 
+        source = database;
+        CachedDatabase cached = new CachedDatabase(database);
+        Bukkit.getPluginManager().registerEvents(cached, plugin);
+
+        database = cached;
         database.connect();
         database.load();
     }
@@ -52,6 +62,22 @@ public final class DatabaseManager {
         return database;
     }
 
+    /**
+     * Returns the MySQL connection pool shared by the servers of a network,
+     * or null when using the local H2 database.
+     */
+    public static DataSource getSharedDataSource() {
+        return source instanceof MySQL mysql ? mysql.getDataSource() : null;
+    }
+
+    /**
+     * Returns true if the language of a player can be read without querying
+     * the database.
+     */
+    public static boolean isLanguageCached(UUID uuid) {
+        return database instanceof CachedDatabase cached && cached.isCached(uuid);
+    }
+
     public static void close() {
         if (database != null) {
             database.close();
@@ -58,6 +58,13 @@ public class MySQL implements Database {
         }
     }
 
+    /**
+     * Returns the connection pool, or null before {@link #connect()}.
+     */
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
     @Override
     public void close() {
         if (dataSource != null) {
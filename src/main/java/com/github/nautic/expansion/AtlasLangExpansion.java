@@ -8,8 +8,6 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Map;
-
 public class AtlasLangExpansion extends PlaceholderExpansion {
 
     private final AtlasLang plugin;
@@ -63,12 +61,8 @@ public class AtlasLangExpansion extends PlaceholderExpansion {
                 return lang;
 
             case "locale":
-                for (Map.Entry<String, String> entry : languageManager.getLanguageMap().entrySet()) {
-                    if (entry.getValue().equalsIgnoreCase(lang)) {
-                        return entry.getKey();
-                    }
-                }
-                return "";
+                String locale = languageManager.getLocale(lang);
+                return locale != null ? locale : "";
 
             default:
                 return "";
@@ -0,0 +1,143 @@
+package com.github.nautic.github;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Network sync storage in a folder every server can reach, such as a shared
+ * mount or a folder on the host running all backends.
+ *
+ * Layout: {@code lease.txt} holds the owner and expiry of the lease,
+ * {@code version.txt} the latest commit, and {@code artifacts/} the zips.
+ * Lease changes happen under a lock on {@code lease.lock}; files are
+ * replaced with atomic moves so readers never see half of one. The previous
+ * artifact is kept so a server still reading it is not cut off.
+ */
+public class DirectorySyncStore implements NetworkSyncStore {
+
+    private final Path root;
+
+    public DirectorySyncStore(Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public boolean acquireLease(String node, long ttlMillis) throws IOException {
+        Files.createDirectories(root);
+
+        try (FileChannel channel = FileChannel.open(root.resolve("lease.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+
+            if (!holdsOrExpired(node)) return false;
+
+            write(root.resolve("lease.txt"), node + " " + (System.currentTimeMillis() + ttlMillis));
+            return true;
+        }
+    }
+
+    @Override
+    public void releaseLease(String node) throws IOException {
+        if (!Files.isDirectory(root)) return;
+
+        try (FileChannel channel = FileChannel.open(root.resolve("lease.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+
+            String lease = read(root.resolve("lease.txt"));
+            if (lease != null && lease.startsWith(node + " ")) {
+                Files.deleteIfExists(root.resolve("lease.txt"));
+            }
+        }
+    }
+
+    @Override
+    public String getVersion() throws IOException {
+        String version = read(root.resolve("version.txt"));
+        return version != null && !version.isEmpty() ? version : null;
+    }
+
+    @Override
+    public void publish(String node, String version, byte[] artifact) throws IOException {
+        Path artifacts = root.resolve("artifacts");
+        Files.createDirectories(artifacts);
+
+        try (FileChannel channel = FileChannel.open(root.resolve("lease.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+
+            String lease = read(root.resolve("lease.txt"));
+            if (lease == null || !lease.startsWith(node + " ")) return;
+
+            String previous = getVersion();
+
+            write(artifacts.resolve(version + ".zip"), artifact);
+            write(root.resolve("version.txt"), version);
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(artifacts, "*.zip")) {
+                for (Path file : stream) {
+                    String name = file.getFileName().toString();
+                    if (!name.equals(version + ".zip") && !name.equals(previous + ".zip")) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public InputStream open(String version) throws IOException {
+        try {
+            return Files.newInputStream(root.resolve("artifacts").resolve(version + ".zip"));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private boolean holdsOrExpired(String node) throws IOException {
+        String lease = read(root.resolve("lease.txt"));
+        if (lease == null) return true;
+
+        String[] parts = lease.split(" ");
+        if (parts.length != 2 || parts[0].equals(node)) return true;
+
+        try {
+            return Long.parseLong(parts[1]) < System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static String read(Path file) throws IOException {
+        try {
+            return Files.readString(file, StandardCharsets.UTF_8).trim();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void write(Path file, byte[] content) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, content);
+
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
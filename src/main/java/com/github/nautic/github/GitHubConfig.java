@@ -1,5 +1,6 @@
 package com.github.nautic.github;
 
+import com.github.nautic.AtlasLang;
 import org.bukkit.configuration.file.FileConfiguration;
 
 public class GitHubConfig {
@@ -19,11 +20,19 @@ public class GitHubConfig {
 
     public final boolean reloadAfterSync;
 
+    public final Mode mode;
+    public final int connections;
+
     public enum AuthType {
         NONE,
         TOKEN
     }
 
+    public enum Mode {
+        TREE,
+        ZIP
+    }
+
     private GitHubConfig(
             String repository,
             String branch,
@@ -34,7 +43,9 @@ public class GitHubConfig {
             boolean createMissing,
             boolean overwriteExisting,
             boolean deleteMissing,
-            boolean reloadAfterSync
+            boolean reloadAfterSync,
+            Mode mode,
+            int connections
     ) {
         this.repository = repository;
         this.branch = branch;
@@ -46,6 +57,8 @@ public class GitHubConfig {
         this.overwriteExisting = overwriteExisting;
         this.deleteMissing = deleteMissing;
         this.reloadAfterSync = reloadAfterSync;
+        this.mode = mode;
+        this.connections = connections;
     }
 
     public static GitHubConfig load(FileConfiguration cfg) {
@@ -61,7 +74,22 @@ public class GitHubConfig {
                 cfg.getBoolean("github.sync.create-missing"),
                 cfg.getBoolean("github.sync.overwrite-existing"),
                 cfg.getBoolean("github.sync.delete-missing"),
-                cfg.getBoolean("github.sync.reload-after-sync")
+                cfg.getBoolean("github.sync.reload-after-sync"),
+                mode(cfg.getString("github.sync.mode", "zip")),
+                Math.max(1, cfg.getInt("github.sync.connections", 4))
         );
     }
+
+    /**
+     * Zip mode is the default: tree mode spends one API request per changed
+     * file, which only fits the hourly limit of authenticated requests.
+     */
+    private static Mode mode(String value) {
+        try {
+            return Mode.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            AtlasLang.getInstance().getLogger().warning("Invalid github.sync.mode '" + value + "', using zip.");
+            return Mode.ZIP;
+        }
+    }
 }
@@ -0,0 +1,68 @@
+package com.github.nautic.github;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+
+/**
+ * A GitHub request answered with an unexpected status. Carries how long
+ * GitHub asked us to wait, if it said so, so scheduled syncs can back off
+ * until the rate limit resets instead of retrying blindly.
+ */
+public class GitHubHttpException extends IOException {
+
+    private final int status;
+    private final long retryAfterMillis;
+
+    private GitHubHttpException(int status, long retryAfterMillis) {
+        super("GitHub HTTP " + status + (isRateLimited(status, retryAfterMillis) ? " (rate limited)" : ""));
+        this.status = status;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    static GitHubHttpException of(HttpResponse<InputStream> response) throws IOException {
+        response.body().close();
+
+        int status = response.statusCode();
+        long retryAfter = 0;
+
+        HttpHeaders headers = response.headers();
+        String header = headers.firstValue("Retry-After").orElse(null);
+        String remaining = headers.firstValue("X-RateLimit-Remaining").orElse(null);
+        String reset = headers.firstValue("X-RateLimit-Reset").orElse(null);
+
+        try {
+            if (header != null) {
+                retryAfter = Long.parseLong(header.trim()) * 1000L;
+            } else if ("0".equals(remaining) && reset != null) {
+                retryAfter = Math.max(0, Long.parseLong(reset.trim()) * 1000L - System.currentTimeMillis());
+            }
+        } catch (NumberFormatException ignored) {
+            // Unknown format, fall back to the regular backoff
+        }
+
+        return new GitHubHttpException(status, retryAfter);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns how long GitHub asked to wait before the next request, or 0 if
+     * it did not say.
+     */
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    public boolean isRateLimited() {
+        return isRateLimited(status, retryAfterMillis);
+    }
+
+    private static boolean isRateLimited(int status, long retryAfterMillis) {
+        return status == 429 || (status == HttpURLConnection.HTTP_FORBIDDEN && retryAfterMillis > 0);
+    }
+}
@@ -0,0 +1,144 @@
+package com.github.nautic.github;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Git blob SHAs of the local language files, so a tree sync can tell which
+ * files differ from GitHub without downloading them.
+ *
+ * An entry is only trusted while the file keeps the size and modification
+ * time it had when it was hashed; a file edited by hand is simply hashed
+ * again. Stored in {@code cache/github-manifest.txt}, one
+ * {@code sha size mtime path} line per file.
+ */
+final class GitHubManifest {
+
+    private final File file;
+    private final Map<String, Entry> entries = new TreeMap<>();
+
+    private GitHubManifest(File file) {
+        this.file = file;
+    }
+
+    static GitHubManifest load(File pluginFolder) {
+        GitHubManifest manifest = new GitHubManifest(new File(pluginFolder, "cache/github-manifest.txt"));
+        if (!manifest.file.isFile()) return manifest;
+
+        try (BufferedReader reader = Files.newBufferedReader(manifest.file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ", 4);
+                if (parts.length != 4) continue;
+
+                manifest.entries.put(parts[3], new Entry(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+            }
+        } catch (IOException | NumberFormatException e) {
+            manifest.entries.clear();
+        }
+
+        return manifest;
+    }
+
+    /**
+     * Returns the git blob SHA of a local file, hashing it only if it changed
+     * since it was last recorded.
+     */
+    String blobSha(String path, Path local) throws IOException {
+        long size = Files.size(local);
+        long modified = Files.getLastModifiedTime(local).toMillis();
+
+        Entry entry = entries.get(path);
+        if (entry != null && entry.size == size && entry.modified == modified) {
+            return entry.sha;
+        }
+
+        String sha = hash(local, size);
+        entries.put(path, new Entry(sha, size, modified));
+        return sha;
+    }
+
+    /**
+     * Records the SHA of a file about to be published, using the attributes
+     * it will keep once moved into place.
+     */
+    void record(String path, String sha, Path file) throws IOException {
+        entries.put(path, new Entry(sha, Files.size(file), Files.getLastModifiedTime(file).toMillis()));
+    }
+
+    void retain(Set<String> paths) {
+        entries.keySet().retainAll(paths);
+    }
+
+    void save() throws IOException {
+        file.getParentFile().mkdirs();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                writer.write(entry.sha + " " + entry.size + " " + entry.modified + " " + e.getKey());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Creates the digest git uses for blobs: SHA-1 over a
+     * {@code blob <size>\0} header followed by the content.
+     */
+    static MessageDigest blobDigest(long size) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(("blob " + size + "\0").getBytes(StandardCharsets.US_ASCII));
+            return digest;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String hex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    private static String hash(Path local, long size) throws IOException {
+        MessageDigest digest = blobDigest(size);
+        byte[] buffer = new byte[8192];
+
+        try (InputStream in = Files.newInputStream(local)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        return hex(digest.digest());
+    }
+
+    private static final class Entry {
+
+        private final String sha;
+        private final long size;
+        private final long modified;
+
+        private Entry(String sha, long size, long modified) {
+            this.sha = sha;
+            this.size = size;
+            this.modified = modified;
+        }
+    }
+}
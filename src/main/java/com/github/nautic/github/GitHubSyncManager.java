@@ -1,37 +1,236 @@
 package com.github.nautic.github;
 
 import com.github.nautic.AtlasLang;
+import com.github.nautic.database.DatabaseManager;
+import com.github.nautic.manager.FileChangeSet;
 import com.github.nautic.manager.LanguageManager;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class GitHubSyncManager {
 
     private final AtlasLang plugin;
     private final LanguageManager languageManager;
 
+    private volatile GitHubSyncStats lastSync;
+    private volatile long retryAfterMillis;
+
+    /** Identifies this server while it holds the network sync lease. */
+    private final String nodeId;
+    private MySQLSyncStore mysqlStore;
+    private NetworkSyncStore leaseStore;
+
     public GitHubSyncManager(AtlasLang plugin) {
         this.plugin = plugin;
         this.languageManager = plugin.getLanguageManager();
+        this.nodeId = loadNodeId(new File(plugin.getDataFolder(), "cache/github-node.txt"));
     }
 
-    public GitHubSyncResult sync() {
+    /**
+     * Runs a sync. Manual and scheduled syncs never overlap: a second call
+     * waits for the running one and then finds nothing new to download.
+     */
+    public synchronized GitHubSyncResult sync() {
+        long start = System.nanoTime();
+
+        GitHubZipSynchronizer synchronizer = null;
+        GitHubSyncResult result;
+        int reloaded = 0;
+        retryAfterMillis = 0;
 
         try {
             GitHubConfig cfg = GitHubConfig.load(plugin.getConfig());
 
-            GitHubZipSynchronizer synchronizer =
-                    new GitHubZipSynchronizer(cfg, plugin.getDataFolder());
+            NetworkSyncStore store = networkStore();
+            synchronizer = new GitHubZipSynchronizer(cfg, plugin.getDataFolder());
 
-            GitHubSyncResult result = synchronizer.execute();
+            if (store == null) {
+                result = synchronizer.execute();
+            } else if (store.acquireLease(nodeId, leaseMillis())) {
+                leaseStore = store;
+                result = synchronizer.execute();
 
-            if (result == GitHubSyncResult.SUCCESS && cfg.reloadAfterSync) {
-                languageManager.reloadLanguages(plugin.getConfig());
+                String commit = synchronizer.getCommit();
+                if (commit != null && !commit.equals(store.getVersion())) {
+                    if (result == GitHubSyncResult.NO_CHANGES) {
+                        // Nothing was listed, compare again to know what to publish
+                        synchronizer = new GitHubZipSynchronizer(cfg, plugin.getDataFolder());
+                        result = synchronizer.execute(true);
+                    }
+
+                    ByteArrayOutputStream artifact = new ByteArrayOutputStream();
+                    synchronizer.writeArtifact(artifact);
+                    store.publish(nodeId, synchronizer.getCommit(), artifact.toByteArray());
+                }
+            } else {
+                String version = store.getVersion();
+                result = version != null
+                        ? synchronizer.applyArtifact(version, store)
+                        : GitHubSyncResult.NO_CHANGES;
             }
 
-            return result;
+            if (result == GitHubSyncResult.SUCCESS && cfg.reloadAfterSync) {
+                reloaded = reloadChanged(cfg, synchronizer).size();
+            }
 
+        } catch (GitHubHttpException e) {
+            plugin.getLogger().warning("GitHub sync failed: " + e.getMessage());
+            retryAfterMillis = e.getRetryAfterMillis();
+            result = GitHubSyncResult.FAILED;
         } catch (Exception e) {
             e.printStackTrace();
-            return GitHubSyncResult.FAILED;
+            result = GitHubSyncResult.FAILED;
         }
+
+        lastSync = new GitHubSyncStats(
+                result,
+                synchronizer != null ? synchronizer.getCommit() : null,
+                synchronizer != null ? synchronizer.getAdded().size() : 0,
+                synchronizer != null ? synchronizer.getModified().size() : 0,
+                synchronizer != null ? synchronizer.getDeleted().size() : 0,
+                reloaded,
+                synchronizer != null ? synchronizer.getBytesDownloaded() : 0,
+                (System.nanoTime() - start) / 1_000_000L
+        );
+
+        return result;
+    }
+
+    /**
+     * Returns the outcome of the last sync since the server started, or null.
+     */
+    public GitHubSyncStats getLastSync() {
+        return lastSync;
+    }
+
+    /**
+     * Returns the storage shared with the other servers if network sync is
+     * enabled, or null to sync straight from GitHub.
+     *
+     * With network sync only the server holding the lease talks to GitHub;
+     * it publishes every new commit as an artifact that the other servers
+     * apply without contacting GitHub.
+     */
+    private NetworkSyncStore networkStore() throws IOException {
+        FileConfiguration config = plugin.getConfig();
+        if (!config.getBoolean("github.network.enabled", false)) return null;
+
+        if (config.getString("github.network.storage", "mysql").equalsIgnoreCase("directory")) {
+            String directory = config.getString("github.network.directory", "");
+            if (directory.isEmpty()) {
+                throw new IOException("github.network.directory is not set");
+            }
+            return new DirectorySyncStore(Path.of(directory));
+        }
+
+        if (mysqlStore == null) {
+            DataSource dataSource = DatabaseManager.getSharedDataSource();
+            if (dataSource == null) {
+                throw new IOException("Network sync with mysql storage requires database.type mysql");
+            }
+            mysqlStore = new MySQLSyncStore(dataSource);
+        }
+
+        return mysqlStore;
+    }
+
+    /**
+     * Gives up the network sync lease if this server took it, so another
+     * server can lead right away instead of after {@code lease-minutes}.
+     * Waits for a running sync to finish first.
+     */
+    public synchronized void shutdown() {
+        if (leaseStore == null) return;
+
+        try {
+            leaseStore.releaseLease(nodeId);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to release GitHub sync lease: " + e.getMessage());
+        }
+
+        leaseStore = null;
+    }
+
+    /**
+     * Reads the id this server uses for the lease, creating it on first use.
+     * It is kept across restarts so a restarted leader takes its own lease
+     * back instead of waiting for it to expire.
+     */
+    private String loadNodeId(File file) {
+        try {
+            if (file.isFile()) {
+                String id = Files.readString(file.toPath(), StandardCharsets.UTF_8).trim();
+                if (!id.isEmpty()) return id;
+            }
+
+            String id = UUID.randomUUID().toString();
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.writeString(file.toPath(), id, StandardCharsets.UTF_8);
+            return id;
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to store GitHub sync node id: " + e.getMessage());
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    private long leaseMillis() {
+        return TimeUnit.MINUTES.toMillis(Math.max(1, plugin.getConfig().getLong("github.network.lease-minutes", 90)));
+    }
+
+    /**
+     * Returns how long GitHub asked to wait after the last sync was rate
+     * limited, or 0.
+     */
+    long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    /**
+     * Reloads only the language files the sync added, changed or deleted, in
+     * a single publish. Readers keep seeing the previous translations until
+     * the new ones are complete, so this is safe off the main thread.
+     *
+     * If the sync does not write into the languages folder, everything is
+     * reloaded as before.
+     */
+    private FileChangeSet reloadChanged(GitHubConfig cfg, GitHubZipSynchronizer synchronizer) throws IOException {
+        File localRoot = new File(plugin.getDataFolder(), cfg.localRoot);
+        File languages = plugin.getFileManager().getBaseLanguageDir();
+
+        if (!localRoot.getCanonicalFile().equals(languages.getCanonicalFile())) {
+            return languageManager.reloadLanguages(plugin.getConfig());
+        }
+
+        Map<String, List<String>> files = new HashMap<>();
+
+        for (Set<String> changed : List.of(synchronizer.getAdded(), synchronizer.getModified(), synchronizer.getDeleted())) {
+            for (String path : changed) {
+                int slash = path.indexOf('/');
+                if (slash == -1 || !path.endsWith(".yml")) continue;
+
+                String lang = path.substring(0, slash).toLowerCase();
+                if (!languageManager.isRegisteredLanguage(lang)) continue;
+
+                files.computeIfAbsent(lang, l -> new ArrayList<>()).add(path.substring(slash + 1));
+            }
+        }
+
+        if (files.isEmpty()) return new FileChangeSet();
+
+        return plugin.getFileManager().reload(Set.of(), files);
     }
 }
@@ -0,0 +1,107 @@
+package com.github.nautic.github;
+
+import com.github.nautic.AtlasLang;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the GitHub sync in the background at a fixed interval.
+ *
+ * Every run is delayed by a random jitter so servers of a network started
+ * together do not all ask GitHub at the same moment. When a sync fails the
+ * wait doubles on every consecutive failure, up to the configured maximum,
+ * and never undercuts the time GitHub asks to wait after a rate limit.
+ *
+ * Since the sync first asks GitHub whether the branch moved, a run without
+ * changes costs a single conditional request.
+ */
+public class GitHubSyncScheduler {
+
+    private final AtlasLang plugin;
+    private final GitHubSyncManager manager;
+
+    private final long intervalMillis;
+    private final long jitterMillis;
+    private final long maxBackoffMillis;
+
+    private int failures;
+    private BukkitTask task;
+    private volatile boolean stopped;
+
+    public GitHubSyncScheduler(AtlasLang plugin, GitHubSyncManager manager,
+                               long intervalMinutes, long jitterSeconds, long maxBackoffMinutes) {
+        this.plugin = plugin;
+        this.manager = manager;
+        this.intervalMillis = TimeUnit.MINUTES.toMillis(Math.max(1, intervalMinutes));
+        this.jitterMillis = TimeUnit.SECONDS.toMillis(Math.max(0, jitterSeconds));
+        this.maxBackoffMillis = Math.max(intervalMillis, TimeUnit.MINUTES.toMillis(maxBackoffMinutes));
+    }
+
+    /**
+     * Schedules the first sync after a random part of the jitter.
+     */
+    public void start() {
+        schedule(0);
+    }
+
+    public synchronized void stop() {
+        stopped = true;
+
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private synchronized void schedule(long delayMillis) {
+        if (stopped) return;
+
+        long jitter = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0;
+        long ticks = Math.max(1, (delayMillis + jitter) / 50L);
+
+        task = Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, this::run, ticks);
+    }
+
+    private void run() {
+        if (stopped) return;
+
+        GitHubSyncResult result = manager.sync();
+
+        if (result == GitHubSyncResult.FAILED) {
+            failures++;
+
+            long delay = backoff();
+            plugin.getLogger().warning("Scheduled GitHub sync failed, retrying in "
+                    + TimeUnit.MILLISECONDS.toSeconds(delay) + "s.");
+            schedule(delay);
+            return;
+        }
+
+        failures = 0;
+
+        if (result == GitHubSyncResult.SUCCESS) {
+            GitHubSyncStats stats = manager.getLastSync();
+            plugin.getLogger().info("Scheduled GitHub sync updated " + stats.getChangedFiles()
+                    + " file(s) to commit " + stats.commit.substring(0, Math.min(7, stats.commit.length())) + ".");
+        }
+
+        schedule(intervalMillis);
+    }
+
+    /**
+     * Interval doubled per consecutive failure, capped at the maximum
+     * backoff, but at least as long as GitHub asked to wait.
+     */
+    private long backoff() {
+        long delay = intervalMillis;
+
+        for (int i = 0; i < failures && delay < maxBackoffMillis; i++) {
+            delay *= 2;
+        }
+
+        return Math.max(Math.min(delay, maxBackoffMillis), manager.getRetryAfterMillis());
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.nautic.github;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * What the last successful sync downloaded: the commit it came from and the
+ * ETag GitHub returned for the branch, so the next sync can ask whether
+ * anything changed before downloading again.
+ *
+ * Stored in {@code cache/github-sync.yml}. The state only applies to the
+ * repository, branch and folder it was recorded for; changing any of them
+ * in the config forces a full download.
+ */
+final class GitHubSyncState {
+
+    private final File file;
+
+    private String source;
+    private String etag;
+    private String commit;
+
+    private GitHubSyncState(File file) {
+        this.file = file;
+    }
+
+    static GitHubSyncState load(File pluginFolder) {
+        GitHubSyncState state = new GitHubSyncState(new File(pluginFolder, "cache/github-sync.yml"));
+
+        if (state.file.isFile()) {
+            YamlConfiguration cfg = YamlConfiguration.loadConfiguration(state.file);
+            state.source = cfg.getString("source");
+            state.etag = cfg.getString("etag");
+            state.commit = cfg.getString("commit");
+        }
+
+        return state;
+    }
+
+    /**
+     * Returns the ETag of the last sync if it was made from the same source.
+     */
+    String getEtag(String source) {
+        return source.equals(this.source) ? etag : null;
+    }
+
+    /**
+     * Returns the commit of the last sync if it was made from the same source.
+     */
+    String getCommit(String source) {
+        return source.equals(this.source) ? commit : null;
+    }
+
+    void update(String source, String etag, String commit) throws IOException {
+        this.source = source;
+        this.etag = etag;
+        this.commit = commit;
+
+        YamlConfiguration cfg = new YamlConfiguration();
+        cfg.set("source", source);
+        cfg.set("etag", etag);
+        cfg.set("commit", commit);
+
+        file.getParentFile().mkdirs();
+        cfg.save(file);
+    }
+}
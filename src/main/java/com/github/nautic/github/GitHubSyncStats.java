@@ -0,0 +1,44 @@
+package com.github.nautic.github;
+
+/**
+ * Outcome of one sync, shown by /atlaslang github status.
+ */
+public final class GitHubSyncStats {
+
+    public final GitHubSyncResult result;
+    public final String commit;
+
+    public final int added;
+    public final int modified;
+    public final int deleted;
+    public final int reloaded;
+
+    public final long bytes;
+    public final long millis;
+    public final long finishedAt;
+
+    GitHubSyncStats(
+            GitHubSyncResult result,
+            String commit,
+            int added,
+            int modified,
+            int deleted,
+            int reloaded,
+            long bytes,
+            long millis
+    ) {
+        this.result = result;
+        this.commit = commit;
+        this.added = added;
+        this.modified = modified;
+        this.deleted = deleted;
+        this.reloaded = reloaded;
+        this.bytes = bytes;
+        this.millis = millis;
+        this.finishedAt = System.currentTimeMillis();
+    }
+
+    public int getChangedFiles() {
+        return added + modified + deleted;
+    }
+}
@@ -1,82 +1,427 @@
 package com.github.nautic.github;
 
+import com.github.nautic.utils.Http;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
 import java.io.*;
 import java.net.HttpURLConnection;
-import java.net.URL;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 public class GitHubZipSynchronizer {
 
+    public static final String GITHUB_API = "https://api.github.com";
+
+    /**
+     * Blob downloads count against the API rate limit; past this many changed
+     * files a single archive download is cheaper.
+     */
+    private static final int MAX_BLOB_REQUESTS = 50;
+
     private final GitHubConfig cfg;
     private final File pluginFolder;
+    private final String apiUrl;
 
     private final Set<String> remoteFiles = new HashSet<>();
 
+    private final Set<String> added = new TreeSet<>();
+    private final Set<String> modified = new TreeSet<>();
+    private final Set<String> deleted = new TreeSet<>();
+
+    private String commit;
+    private long bytesDownloaded;
+
+    private GitHubManifest manifest;
+
     public GitHubZipSynchronizer(GitHubConfig cfg, File pluginFolder) {
+        this(cfg, pluginFolder, GITHUB_API);
+    }
+
+    /**
+     * @param apiUrl base URL of the GitHub REST API
+     */
+    public GitHubZipSynchronizer(GitHubConfig cfg, File pluginFolder, String apiUrl) {
         this.cfg = cfg;
         this.pluginFolder = pluginFolder;
+        this.apiUrl = apiUrl;
     }
 
     public GitHubSyncResult execute() throws IOException {
+        return execute(false);
+    }
 
-        File zipFile = downloadRepositoryZip();
-        if (zipFile == null) return GitHubSyncResult.FAILED;
+    /**
+     * @param force compare every file even if the branch has not moved since
+     *              the last sync, which also lists the remote files needed by
+     *              {@link #writeArtifact}
+     */
+    public GitHubSyncResult execute(boolean force) throws IOException {
 
         File localRoot = new File(pluginFolder, cfg.localRoot);
-        if (!localRoot.exists()) localRoot.mkdirs();
+        GitHubSyncState state = GitHubSyncState.load(pluginFolder);
+        String source = source();
+
+        boolean synced = localRoot.isDirectory() && !force;
+        HttpResponse<InputStream> head = branchHead(synced ? state.getEtag(source) : null);
+
+        if (head.statusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            head.body().close();
+            commit = state.getCommit(source);
+            return GitHubSyncResult.NO_CHANGES;
+        }
+
+        if (head.statusCode() != HttpURLConnection.HTTP_OK) {
+            throw GitHubHttpException.of(head);
+        }
+
+        try (InputStream in = head.body()) {
+            commit = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+        String etag = head.headers().firstValue("ETag").orElse(null);
+
+        if (synced && commit.equals(state.getCommit(source))) {
+            state.update(source, etag, commit);
+            return GitHubSyncResult.NO_CHANGES;
+        }
 
-        unzipAndSync(zipFile, localRoot);
+        stageAndPublish(localRoot, staging -> {
+            Map<String, File> staged = cfg.mode == GitHubConfig.Mode.TREE
+                    ? fetchAndStage(commit, localRoot, staging)
+                    : null;
 
-        if (cfg.deleteMissing) {
-            deleteMissingLocalFiles(localRoot);
+            return staged != null ? staged : downloadAndStage(commit, localRoot, staging);
+        });
+
+        state.update(source, etag, commit);
+        return GitHubSyncResult.SUCCESS;
+    }
+
+    /**
+     * Applies an artifact published by the server syncing for the network,
+     * as if {@code version} had been downloaded from GitHub. The local
+     * create, overwrite and delete settings apply as usual.
+     */
+    public GitHubSyncResult applyArtifact(String version, NetworkSyncStore store) throws IOException {
+
+        File localRoot = new File(pluginFolder, cfg.localRoot);
+        GitHubSyncState state = GitHubSyncState.load(pluginFolder);
+        String source = source();
+
+        commit = version;
+
+        if (localRoot.isDirectory() && version.equals(state.getCommit(source))) {
+            return GitHubSyncResult.NO_CHANGES;
         }
 
-        zipFile.delete();
+        try (InputStream in = store.open(version)) {
+            if (in == null) {
+                throw new IOException("Translation artifact " + version + " is no longer available");
+            }
+
+            stageAndPublish(localRoot, staging -> stageArchive(in, localRoot, staging));
+        }
+
+        state.update(source, null, version);
         return GitHubSyncResult.SUCCESS;
     }
 
-    private File downloadRepositoryZip() throws IOException {
+    /**
+     * Writes the remote files of the last execution, as they are now in the
+     * local root, into a zip laid out like a GitHub archive so other servers
+     * can apply it with {@link #applyArtifact}. The execution must have
+     * listed the remote files, which a forced one always does.
+     */
+    public void writeArtifact(OutputStream out) throws IOException {
+        File localRoot = new File(pluginFolder, cfg.localRoot);
 
-        String url = "https://github.com/"
-                + cfg.repository
-                + "/archive/refs/heads/"
-                + cfg.branch
-                + ".zip";
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (String path : new TreeSet<>(remoteFiles)) {
+                File file = new File(localRoot, path);
+                if (!file.isFile()) continue;
 
-        HttpURLConnection conn =
-                (HttpURLConnection) new URL(url).openConnection();
+                zip.putNextEntry(new ZipEntry("atlaslang-" + commit + "/" + cfg.remoteRoot + "/" + path));
+                Files.copy(file.toPath(), zip);
+                zip.closeEntry();
+            }
+        }
+    }
+
+    private String source() {
+        return cfg.repository + "@" + cfg.branch + ":" + cfg.remoteRoot;
+    }
 
-        conn.setConnectTimeout(15000);
-        conn.setReadTimeout(30000);
+    private void stageAndPublish(File localRoot, Stager stager) throws IOException {
+        if (!localRoot.exists()) localRoot.mkdirs();
+
+        File staging = new File(pluginFolder, "cache/github-staging");
+        deleteRecursively(staging);
+
+        try {
+            publish(stager.stage(staging), localRoot);
+
+            if (manifest != null) {
+                manifest.retain(remoteFiles);
+                manifest.save();
+            }
+
+            if (cfg.deleteMissing) {
+                deleteMissingLocalFiles(localRoot);
+            }
+        } finally {
+            deleteRecursively(staging);
+        }
+    }
+
+    /**
+     * Asks for the commit at the head of the branch, as plain text. With the
+     * ETag of the last sync GitHub answers 304 when the branch has not moved,
+     * which does not count against the rate limit.
+     */
+    private HttpResponse<InputStream> branchHead(String etag) throws IOException {
+        HttpRequest.Builder request = request(apiUrl + "/repos/" + cfg.repository + "/commits/" + cfg.branch)
+                .header("Accept", "application/vnd.github.sha");
+
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+
+        return send(request);
+    }
+
+    private HttpRequest.Builder request(String url) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30));
 
         if (cfg.authType == GitHubConfig.AuthType.TOKEN && !cfg.token.isEmpty()) {
-            conn.setRequestProperty("Authorization", "token " + cfg.token);
+            request.header("Authorization", "token " + cfg.token);
+        }
+
+        return request;
+    }
+
+    /**
+     * Sends a request through the shared client, which keeps connections to
+     * GitHub open between requests. The body is streamed and must be closed.
+     */
+    private static HttpResponse<InputStream> send(HttpRequest.Builder request) throws IOException {
+        try {
+            return Http.client().send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while contacting GitHub", e);
+        }
+    }
+
+    /**
+     * Lists the remote root at the commit and stages only the files whose git
+     * blob SHA differs from the local copy, comparing against the manifest
+     * instead of downloading anything. Changed blobs are downloaded in
+     * parallel over at most {@code connections} connections and verified
+     * against their SHA.
+     *
+     * @return the staged files by path relative to the local root, or null if
+     *         GitHub truncated the listing or too many files changed, in which
+     *         case the archive has to be used instead
+     */
+    private Map<String, File> fetchAndStage(String commit, File localRoot, File staging) throws IOException {
+
+        Map<String, Blob> tree = listTree(commit);
+        if (tree == null) return null;
+
+        Path root = localRoot.toPath().toAbsolutePath().normalize();
+        GitHubManifest local = GitHubManifest.load(pluginFolder);
+
+        Set<String> listed = new HashSet<>();
+        List<Blob> pending = new ArrayList<>();
+
+        for (Blob blob : tree.values()) {
+            Path target = root.resolve(blob.path).normalize();
+            if (!target.startsWith(root)) continue;
+
+            listed.add(blob.path);
+
+            boolean exists = Files.isRegularFile(target);
+            if (exists ? !cfg.overwriteExisting : !cfg.createMissing) continue;
+            if (exists && blob.sha.equals(local.blobSha(blob.path, target))) continue;
+
+            blob.exists = exists;
+            pending.add(blob);
+        }
+
+        if (pending.size() > MAX_BLOB_REQUESTS) return null;
+
+        Map<String, File> staged = new LinkedHashMap<>();
+        AtomicLong bytes = new AtomicLong();
+
+        if (!pending.isEmpty()) {
+            AtomicInteger ids = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(cfg.connections, pending.size()), runnable -> {
+                Thread thread = new Thread(runnable, "AtlasLang-GitHub-" + ids.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            try {
+                List<Future<File>> downloads = new ArrayList<>();
+                for (Blob blob : pending) {
+                    downloads.add(executor.submit(() -> downloadBlob(blob, new File(staging, blob.path), bytes)));
+                }
+
+                for (int i = 0; i < pending.size(); i++) {
+                    Blob blob = pending.get(i);
+                    File stagedFile = downloads.get(i).get();
+
+                    local.record(blob.path, blob.sha, stagedFile.toPath());
+                    staged.put(blob.path, stagedFile);
+                    (blob.exists ? modified : added).add(blob.path);
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) throw io;
+                throw new IOException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while downloading files", e);
+            } finally {
+                executor.shutdownNow();
+            }
         }
 
-        if (conn.getResponseCode() != 200) {
-            throw new IOException("GitHub HTTP " + conn.getResponseCode());
+        remoteFiles.addAll(listed);
+        bytesDownloaded += bytes.get();
+        manifest = local;
+
+        return staged;
+    }
+
+    /**
+     * Lists the blobs under the remote root at the commit, by path relative
+     * to it.
+     *
+     * @return the blobs, or null if GitHub truncated the listing
+     */
+    private Map<String, Blob> listTree(String commit) throws IOException {
+        String treeish = cfg.remoteRoot.isEmpty() ? commit : commit + ":" + cfg.remoteRoot;
+
+        HttpResponse<InputStream> response = send(
+                request(apiUrl + "/repos/" + cfg.repository + "/git/trees/" + treeish + "?recursive=1")
+                        .header("Accept", "application/vnd.github+json")
+        );
+
+        if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+            throw GitHubHttpException.of(response);
+        }
+
+        byte[] body;
+        try (InputStream in = response.body()) {
+            body = in.readAllBytes();
+        }
+        bytesDownloaded += body.length;
+
+        JsonObject json = new JsonParser()
+                .parse(new String(body, StandardCharsets.UTF_8))
+                .getAsJsonObject();
+
+        if (json.has("truncated") && json.get("truncated").getAsBoolean()) return null;
+
+        Map<String, Blob> blobs = new TreeMap<>();
+
+        for (JsonElement element : json.getAsJsonArray("tree")) {
+            JsonObject entry = element.getAsJsonObject();
+            if (!"blob".equals(entry.get("type").getAsString())) continue;
+
+            Blob blob = new Blob(
+                    entry.get("path").getAsString(),
+                    entry.get("sha").getAsString(),
+                    entry.get("size").getAsLong()
+            );
+            blobs.put(blob.path, blob);
+        }
+
+        return blobs;
+    }
+
+    private File downloadBlob(Blob blob, File stagedFile, AtomicLong bytes) throws IOException {
+        HttpResponse<InputStream> response = send(
+                request(apiUrl + "/repos/" + cfg.repository + "/git/blobs/" + blob.sha)
+                        .header("Accept", "application/vnd.github.raw+json")
+        );
+
+        if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+            throw GitHubHttpException.of(response);
+        }
+
+        stagedFile.getParentFile().mkdirs();
+
+        MessageDigest digest = GitHubManifest.blobDigest(blob.size);
+        try (InputStream in = response.body();
+             OutputStream out = new DigestOutputStream(new FileOutputStream(stagedFile), digest)) {
+            bytes.addAndGet(in.transferTo(out));
         }
 
-        File tempZip = new File(pluginFolder, "github_sync.zip");
+        if (!blob.sha.equals(GitHubManifest.hex(digest.digest()))) {
+            throw new IOException("Corrupted download of " + blob.path);
+        }
+
+        return stagedFile;
+    }
 
-        try (InputStream in = conn.getInputStream()) {
-            Files.copy(in, tempZip.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Streams the archive of an exact commit straight from the response and
+     * writes every file under the remote root that differs from the local
+     * copy into the staging folder. Nothing in the live folder is touched,
+     * so a failed or partial download leaves it as it was.
+     *
+     * Downloading an exact commit keeps the files in line with the commit
+     * recorded for the next sync even if the branch moves meanwhile.
+     *
+     * @return the staged files by path relative to the local root
+     */
+    private Map<String, File> downloadAndStage(String commit, File localRoot, File staging) throws IOException {
+
+        // The API answers with a redirect to a signed archive URL, which also
+        // works for private repositories accessed with a token
+        HttpResponse<InputStream> response = send(request(apiUrl + "/repos/" + cfg.repository + "/zipball/" + commit));
+
+        if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+            throw GitHubHttpException.of(response);
         }
 
-        return tempZip;
+        return stageArchive(response.body(), localRoot, staging);
     }
 
-    private void unzipAndSync(File zip, File localRoot) throws IOException {
+    private Map<String, File> stageArchive(InputStream archive, File localRoot, File staging) throws IOException {
 
-        try (ZipInputStream zis =
-                     new ZipInputStream(new FileInputStream(zip))) {
+        Path root = localRoot.toPath().toAbsolutePath().normalize();
+        Map<String, File> staged = new LinkedHashMap<>();
+
+        try (CountingInputStream counter = new CountingInputStream(archive);
+             ZipInputStream zis = new ZipInputStream(new BufferedInputStream(counter, 65536))) {
 
             ZipEntry entry;
             while ((entry = zis.getNextEntry()) != null) {
 
+                if (entry.isDirectory()) continue;
+
                 String name = entry.getName();
 
                 int firstSlash = name.indexOf('/');
@@ -86,33 +431,88 @@ public class GitHubZipSynchronizer {
                 if (!name.startsWith(cfg.remoteRoot + "/")) continue;
 
                 String relativePath =
-                        name.substring(cfg.remoteRoot.length() + 1);
+                        name.substring(cfg.remoteRoot.length() + 1).replace("\\", "/");
 
                 if (relativePath.isEmpty()) continue;
 
-                File target = new File(localRoot, relativePath);
-                remoteFiles.add(relativePath.replace("\\", "/"));
+                Path target = root.resolve(relativePath).normalize();
+                if (!target.startsWith(root)) continue;
 
-                if (entry.isDirectory()) {
-                    target.mkdirs();
-                    continue;
-                }
+                remoteFiles.add(relativePath);
 
-                target.getParentFile().mkdirs();
+                boolean exists = Files.isRegularFile(target);
+                if (exists ? !cfg.overwriteExisting : !cfg.createMissing) continue;
 
-                if (target.exists() && !cfg.overwriteExisting) {
-                    continue;
+                File stagedFile = new File(staging, relativePath);
+                stagedFile.getParentFile().mkdirs();
+
+                MessageDigest digest = sha256();
+                try (OutputStream out = new DigestOutputStream(new FileOutputStream(stagedFile), digest)) {
+                    zis.transferTo(out);
                 }
 
-                try (OutputStream out = new FileOutputStream(target)) {
-                    byte[] buffer = new byte[4096];
-                    int len;
-                    while ((len = zis.read(buffer)) > 0) {
-                        out.write(buffer, 0, len);
-                    }
+                if (exists
+                        && Files.size(target) == stagedFile.length()
+                        && Arrays.equals(digest.digest(), hash(target))) {
+                    stagedFile.delete();
+                    continue;
                 }
+
+                staged.put(relativePath, stagedFile);
+                (exists ? modified : added).add(relativePath);
             }
+
+            bytesDownloaded += counter.count;
         }
+
+        return staged;
+    }
+
+    /**
+     * Moves the staged files over the live ones. Each move is atomic where
+     * the file system allows it, so a reload reading the folder at the same
+     * time sees either the old or the new file, never a partial one.
+     */
+    private void publish(Map<String, File> staged, File localRoot) throws IOException {
+        for (Map.Entry<String, File> entry : staged.entrySet()) {
+            Path target = new File(localRoot, entry.getKey()).toPath();
+            Files.createDirectories(target.getParent());
+
+            try {
+                Files.move(entry.getValue().toPath(), target,
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(entry.getValue().toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static byte[] hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
     }
 
     private void deleteMissingLocalFiles(File root) {
@@ -132,8 +532,74 @@ public class GitHubZipSynchronizer {
             return;
         }
 
-        if (!remoteFiles.contains(relative.replace("\\", "/"))) {
-            file.delete();
+        if (!remoteFiles.contains(relative.replace("\\", "/")) && file.delete()) {
+            deleted.add(relative.replace("\\", "/"));
+        }
+    }
+
+    /** Commit the last execution compared against or downloaded. */
+    public String getCommit() {
+        return commit;
+    }
+
+    /** Files created by the last execution, relative to the local root. */
+    public Set<String> getAdded() {
+        return Collections.unmodifiableSet(added);
+    }
+
+    /** Files overwritten with different content by the last execution. */
+    public Set<String> getModified() {
+        return Collections.unmodifiableSet(modified);
+    }
+
+    /** Files removed by the last execution because they are not on GitHub. */
+    public Set<String> getDeleted() {
+        return Collections.unmodifiableSet(deleted);
+    }
+
+    public long getBytesDownloaded() {
+        return bytesDownloaded;
+    }
+
+    private interface Stager {
+        Map<String, File> stage(File staging) throws IOException;
+    }
+
+    private static final class Blob {
+
+        private final String path;
+        private final String sha;
+        private final long size;
+
+        private boolean exists;
+
+        private Blob(String path, String sha, long size) {
+            this.path = path;
+            this.sha = sha;
+            this.size = size;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int read = super.read(buffer, off, len);
+            if (read > 0) count += read;
+            return read;
         }
     }
 }
@@ -0,0 +1,118 @@
+package com.github.nautic.github;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Network sync storage in the MySQL database the servers already share for
+ * player languages.
+ *
+ * A single row holds the lease and the latest artifact. Taking the lease is
+ * one conditional UPDATE, so two servers can never both win it. Expiry is
+ * measured with the database clock, in seconds, so clock differences
+ * between servers cannot hand out the lease twice.
+ */
+public class MySQLSyncStore implements NetworkSyncStore {
+
+    private final DataSource dataSource;
+
+    public MySQLSyncStore(DataSource dataSource) throws IOException {
+        this.dataSource = dataSource;
+
+        String sql = """
+                CREATE TABLE IF NOT EXISTS AtlasLang_Sync (
+                    id INT PRIMARY KEY,
+                    lease_owner VARCHAR(64),
+                    lease_until BIGINT,
+                    version VARCHAR(64),
+                    artifact LONGBLOB
+                )
+                """;
+
+        try (Connection con = dataSource.getConnection();
+             Statement stmt = con.createStatement()) {
+            stmt.executeUpdate(sql);
+            stmt.executeUpdate("INSERT IGNORE INTO AtlasLang_Sync (id) VALUES (1)");
+        } catch (SQLException e) {
+            throw new IOException("Sync table creation failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean acquireLease(String node, long ttlMillis) throws IOException {
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement(
+                     "UPDATE AtlasLang_Sync SET lease_owner=?, lease_until=UNIX_TIMESTAMP()+? "
+                             + "WHERE id=1 AND (lease_owner IS NULL OR lease_owner=? OR lease_until<UNIX_TIMESTAMP())")) {
+            ps.setString(1, node);
+            ps.setLong(2, Math.max(1, ttlMillis / 1000L));
+            ps.setString(3, node);
+            return ps.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new IOException("Failed to take sync lease: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void releaseLease(String node) throws IOException {
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement(
+                     "UPDATE AtlasLang_Sync SET lease_owner=NULL, lease_until=NULL WHERE id=1 AND lease_owner=?")) {
+            ps.setString(1, node);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("Failed to release sync lease: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String getVersion() throws IOException {
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement(
+                     "SELECT version FROM AtlasLang_Sync WHERE id=1");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getString("version") : null;
+        } catch (SQLException e) {
+            throw new IOException("Failed to read sync version: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void publish(String node, String version, byte[] artifact) throws IOException {
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement(
+                     "UPDATE AtlasLang_Sync SET version=?, artifact=? WHERE id=1 AND lease_owner=?")) {
+            ps.setString(1, version);
+            ps.setBytes(2, artifact);
+            ps.setString(3, node);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("Failed to publish translations: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public InputStream open(String version) throws IOException {
+        try (Connection con = dataSource.getConnection();
+             PreparedStatement ps = con.prepareStatement(
+                     "SELECT artifact FROM AtlasLang_Sync WHERE id=1 AND version=?")) {
+            ps.setString(1, version);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return null;
+
+                byte[] artifact = rs.getBytes("artifact");
+                return artifact != null ? new ByteArrayInputStream(artifact) : null;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to read translations: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.nautic.github;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Storage shared by every server of a network, through which one server
+ * syncs from GitHub on behalf of the others.
+ *
+ * The server holding the lease talks to GitHub and publishes what it
+ * downloaded as a translation artifact, versioned by commit. The rest only
+ * compare the published version with their own and pull the artifact when
+ * it moved.
+ */
+public interface NetworkSyncStore {
+
+    /**
+     * Takes the lease for {@code node}, or extends it if the node already
+     * holds it. Fails while another node holds an unexpired lease.
+     *
+     * @return true if {@code node} holds the lease for the next {@code ttlMillis}
+     */
+    boolean acquireLease(String node, long ttlMillis) throws IOException;
+
+    /**
+     * Gives up the lease if {@code node} holds it, so another node can take
+     * over right away instead of waiting for it to expire.
+     */
+    void releaseLease(String node) throws IOException;
+
+    /**
+     * Returns the commit of the latest published artifact, or null if none
+     * was published yet.
+     */
+    String getVersion() throws IOException;
+
+    /**
+     * Publishes an artifact as the latest version. Ignored if {@code node}
+     * no longer holds the lease.
+     */
+    void publish(String node, String version, byte[] artifact) throws IOException;
+
+    /**
+     * Opens a published artifact, or returns null if it was replaced since.
+     */
+    InputStream open(String version) throws IOException;
+}
@@ -2,11 +2,13 @@ package com.github.nautic.handler;
 
 import com.github.nautic.manager.FileManager;
 import com.github.nautic.manager.LanguageManager;
+import com.github.nautic.manager.OrdinalRules;
+import com.github.nautic.manager.PluralRules;
+import com.github.nautic.manager.TranslationStore;
 import com.github.nautic.utils.addColor;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 
-import java.util.List;
+import java.util.Map;
 
 public class LangHandler {
 
@@ -29,80 +31,129 @@ public class LangHandler {
             langFolder = languageManager.getDefaultLang();
         }
 
-        String fileId = langFolder + ":" + filePath.toLowerCase();
+        TranslationStore store = fileManager.getStore();
+        String file = filePath.toLowerCase();
 
-        if (!fileManager.isLoaded(fileId)) {
-            fileManager.loadByLangAndPath(langFolder, filePath + ".yml");
+        if (!store.access(langFolder, file)) {
+            FileManager.LoadState state = fileManager.ensureLoaded(langFolder, filePath);
+
+            if (state == FileManager.LoadState.MISSING) {
+                return addColor.ApplyPlaceholders(player,
+                        getSystemMessageOrDefault(
+                                langFolder,
+                                "file_not_found",
+                                "&cFile not found &7[" + filePath + "]"
+                        ).replace("{file}", filePath)
+                );
+            }
+
+            if (state == FileManager.LoadState.LOADING) {
+                return getWhileLoading(player, langFolder, file, path);
+            }
         }
 
-        if (!fileManager.isLoaded(fileId)) {
-            return addColor.SetPlaceholders(player,
-                    getSystemMessageOrDefault(
-                            langFolder,
-                            "file_not_found",
-                            "&cFile not found &7[" + filePath + "]"
-                    ).replace("{file}", filePath)
-            );
+        String result = store.get(langFolder, file, path);
+
+        if (result == null) {
+            result = getSystemMessageOrDefault(
+                    langFolder,
+                    "not_translated",
+                    "&fNot translated &7» &a" + path
+            ).replace("{path}", path);
+
+            return addColor.ApplyPlaceholders(player, result.trim());
         }
 
-        FileConfiguration cfg = fileManager.getConfig(fileId);
-        if (cfg == null) {
-            return addColor.SetPlaceholders(player,
-                    getSystemMessage(langFolder, "invalid_lang_format")
-            );
+        if (player == null || result.indexOf('%') == -1) {
+            return result;
         }
 
-        String result = null;
+        return addColor.ApplyPlaceholders(player, result);
+    }
 
-        if (cfg.isString(path)) {
-            result = cfg.getString(path);
+    /**
+     * Same as {@link #get(Player, String, String, String)}, with the ICU
+     * arguments of the message ({name}, plural and select) filled in using
+     * the plural and ordinal rules of the language.
+     */
+    public String format(Player player, String langInput, String filePath, String path, Map<String, ?> args) {
+        String langFolder = languageManager.resolveLanguageStrict(langInput);
+        if (langFolder == null) {
+            langFolder = languageManager.getDefaultLang();
         }
 
-        else if (cfg.isList(path)) {
-            List<String> list = cfg.getStringList(path);
-            if (!list.isEmpty()) {
-                result = String.join("\n", list);
-            }
+        String value = get(null, langFolder, filePath, path);
+        String locale = languageManager.getLocale(langFolder);
+        String result = fileManager.getStore().pattern(value).format(
+                PluralRules.forLocale(locale),
+                OrdinalRules.forLocale(locale),
+                args
+        );
+
+        if (player == null || result.indexOf('%') == -1) {
+            return result;
         }
 
+        return addColor.ApplyPlaceholders(player, result);
+    }
+
+    /**
+     * Answer for a file that is still being loaded in the background: the
+     * default language's value if that one is already in memory, otherwise
+     * the not translated message.
+     */
+    private String getWhileLoading(Player player, String langFolder, String file, String path) {
+        TranslationStore store = fileManager.getStore();
+        String defaultLang = languageManager.getDefaultLang();
+
+        String result = store.access(defaultLang, file) ? store.get(defaultLang, file, path) : null;
+
         if (result == null) {
             result = getSystemMessageOrDefault(
                     langFolder,
                     "not_translated",
                     "&fNot translated &7» &a" + path
             ).replace("{path}", path);
+
+            return addColor.ApplyPlaceholders(player, result.trim());
+        }
+
+        if (player == null || result.indexOf('%') == -1) {
+            return result;
         }
 
-        return addColor.SetPlaceholders(player, result.trim());
+        return addColor.ApplyPlaceholders(player, result);
     }
 
     public String getSystemMessage(String langFolder, String key) {
-        String systemId = langFolder.toLowerCase() + ":" + langFolder.toLowerCase();
+        String lang = langFolder.toLowerCase();
+        TranslationStore store = fileManager.getStore();
 
-        if (!fileManager.isLoaded(systemId)) {
+        if (!store.isLoaded(lang, lang)) {
             return addColor.Set("&cSystem file missing");
         }
 
-        String msg = fileManager.get(systemId, key);
+        String msg = store.get(lang, lang, key);
         if (msg == null) {
             return addColor.Set("&cSystem message missing");
         }
 
-        return addColor.Set(msg.trim());
+        return msg;
     }
 
     private String getSystemMessageOrDefault(String langFolder, String key, String defaultMsg) {
-        String systemId = langFolder.toLowerCase() + ":" + langFolder.toLowerCase();
+        String lang = langFolder.toLowerCase();
+        TranslationStore store = fileManager.getStore();
 
-        if (!fileManager.isLoaded(systemId)) {
+        if (!store.isLoaded(lang, lang)) {
             return addColor.Set(defaultMsg);
         }
 
-        String msg = fileManager.get(systemId, key);
+        String msg = store.get(lang, lang, key);
         if (msg == null) {
             return addColor.Set(defaultMsg);
         }
 
-        return addColor.Set(msg.trim());
+        return msg;
     }
 }
\ No newline at end of file
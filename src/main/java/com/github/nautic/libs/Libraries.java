@@ -3,41 +3,66 @@ package com.github.nautic.libs;
 import revxrsal.zapper.Dependency;
 import revxrsal.zapper.relocation.Relocation;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public enum Libraries {
 
     HIKARICP(
-            new Dependency("com.zaxxer", "HikariCP", "6.3.0"),
+            "com.zaxxer", "HikariCP", "4.0.3",
             relocate("com{}zaxxer{}hikari", "com.github.nautic.libs.hikari")
     ),
 
     SLF4J_API(
-            new Dependency("org.slf4j", "slf4j-api", "1.7.36")
+            "org.slf4j", "slf4j-api", "1.7.36"
     ),
 
     SLF4J_SIMPLE(
-            new Dependency("org.slf4j", "slf4j-simple", "1.7.36")
+            "org.slf4j", "slf4j-simple", "1.7.36"
     ),
 
     H2(
-            new Dependency("com.h2database", "h2", "2.1.214"),
+            "com.h2database", "h2", "2.2.224",
             relocate("org{}h2", "com.github.nautic.libs.h2")
     ),
 
     MYSQL(
-            new Dependency("com.mysql", "mysql-connector-j", "9.2.0"),
+            "com.mysql", "mysql-connector-j", "9.2.0",
             relocate("com{}mysql", "com.github.nautic.libs.mysql")
     );
 
+    private final String coordinates;
     private final Dependency dependency;
     private final List<Relocation> relocations;
 
-    Libraries(Dependency dependency, Relocation... relocations) {
-        this.dependency = dependency;
+    Libraries(String groupId, String artifactId, String version, Relocation... relocations) {
+        this.coordinates = groupId + ":" + artifactId + ":" + version;
+        this.dependency = new Dependency(groupId, artifactId, version);
         this.relocations = List.of(relocations);
     }
 
+    /**
+     * Returns the libraries needed with the given {@code database.type}: the
+     * pool and logging, plus only the JDBC driver that is actually used.
+     */
+    public static List<Libraries> forDatabase(String type) {
+        Libraries driver = "mysql".equalsIgnoreCase(type) ? MYSQL : H2;
+
+        List<Libraries> libraries = new ArrayList<>();
+        for (Libraries library : values()) {
+            if ((library != H2 && library != MYSQL) || library == driver) {
+                libraries.add(library);
+            }
+        }
+
+        return libraries;
+    }
+
+    /** groupId:artifactId:version */
+    public String coordinates() {
+        return coordinates;
+    }
+
     public Dependency dependency() {
         return dependency;
     }
@@ -49,4 +74,4 @@ public enum Libraries {
     private static Relocation relocate(String from, String to) {
         return new Relocation(from.replace("{}", "."), to);
     }
-}
\ No newline at end of file
+}
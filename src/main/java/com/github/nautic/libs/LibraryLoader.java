@@ -0,0 +1,278 @@
+package com.github.nautic.libs;
+
+import revxrsal.zapper.DependencyManager;
+import revxrsal.zapper.classloader.URLClassLoaderWrapper;
+import revxrsal.zapper.relocation.Relocation;
+import revxrsal.zapper.repository.Repository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Puts the runtime libraries on the plugin class path during onLoad.
+ *
+ * Each library is installed by Zapper into its own folder under the
+ * libraries directory, and {@code manifest.txt} records the SHA-256 of the
+ * jars it put on the class path. When every jar of a library is present and
+ * matches, it is added straight away without resolving anything, so a
+ * normal start needs no network. Missing or damaged libraries are
+ * downloaded and relocated in parallel, one thread per library.
+ */
+public final class LibraryLoader {
+
+    private static final int MAX_DOWNLOADS = 4;
+
+    private final File directory;
+    private final URLClassLoaderWrapper classLoader;
+    private final Logger logger;
+
+    /** coordinates -> jars relative to the directory, with their SHA-256. */
+    private final Map<String, Map<String, String>> manifest = new TreeMap<>();
+
+    public LibraryLoader(File directory, URLClassLoaderWrapper classLoader, Logger logger) {
+        this.directory = directory;
+        this.classLoader = classLoader;
+        this.logger = logger;
+    }
+
+    public void load(List<Libraries> libraries) throws IOException {
+        directory.mkdirs();
+        readManifest();
+        removeStale();
+
+        List<Libraries> missing = new ArrayList<>();
+
+        for (Libraries library : libraries) {
+            List<File> jars = verify(library);
+
+            if (jars == null) {
+                missing.add(library);
+                continue;
+            }
+
+            for (File jar : jars) {
+                classLoader.addURL(jar.toURI().toURL());
+            }
+        }
+
+        if (missing.isEmpty()) return;
+
+        logger.info("Installing runtime dependencies: " + missing.stream()
+                .map(Libraries::coordinates)
+                .collect(Collectors.joining(", ")));
+
+        install(missing);
+        writeManifest();
+    }
+
+    /**
+     * Returns the recorded jars of a library if all of them are present and
+     * unchanged, or null if it has to be installed.
+     */
+    private List<File> verify(Libraries library) throws IOException {
+        Map<String, String> jars = manifest.get(library.coordinates());
+        if (jars == null || jars.isEmpty()) return null;
+
+        List<File> files = new ArrayList<>();
+
+        for (Map.Entry<String, String> jar : jars.entrySet()) {
+            File file = new File(directory, jar.getKey());
+            if (!file.isFile() || !jar.getValue().equals(sha256(file.toPath()))) return null;
+
+            files.add(file);
+        }
+
+        return files;
+    }
+
+    private void install(List<Libraries> missing) throws IOException {
+        AtomicInteger ids = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_DOWNLOADS, missing.size()), runnable -> {
+            Thread thread = new Thread(runnable, "AtlasLang-Libraries-" + ids.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Map<Libraries, Future<List<URL>>> installs = new LinkedHashMap<>();
+            for (Libraries library : missing) {
+                installs.put(library, executor.submit(() -> install(library)));
+            }
+
+            for (Map.Entry<Libraries, Future<List<URL>>> entry : installs.entrySet()) {
+                Map<String, String> jars = new TreeMap<>();
+
+                for (URL url : entry.getValue().get()) {
+                    Path jar = Path.of(url.toURI());
+                    jars.put(directory.toPath().relativize(jar).toString().replace('\\', '/'), sha256(jar));
+                }
+
+                manifest.put(entry.getKey().coordinates(), jars);
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("Could not install runtime dependencies", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while installing runtime dependencies", e);
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Installs a single library with its own Zapper instance, recording the
+     * jars Zapper adds to the class path. The folder is emptied first so a
+     * damaged jar is never picked up again.
+     */
+    private List<URL> install(Libraries library) {
+        File folder = folder(library);
+        deleteRecursively(folder);
+
+        RecordingClassLoader recorder = new RecordingClassLoader(classLoader);
+
+        DependencyManager manager = new DependencyManager(folder, recorder);
+        manager.repository(Repository.mavenCentral());
+        manager.repository(Repository.maven("https://repo.codemc.org/repository/maven-public/"));
+
+        manager.dependency(library.dependency());
+        for (Relocation relocation : library.relocations()) {
+            manager.relocate(relocation);
+        }
+
+        manager.load();
+        return recorder.added;
+    }
+
+    private File folder(Libraries library) {
+        return new File(directory, library.coordinates().replace(':', '-'));
+    }
+
+    /**
+     * Deletes jars left by older versions: loose jars from before libraries
+     * had their own folders, and folders of versions no longer used.
+     */
+    private void removeStale() {
+        Set<String> coordinates = new HashSet<>();
+        Set<String> folders = new HashSet<>();
+
+        for (Libraries library : Libraries.values()) {
+            coordinates.add(library.coordinates());
+            folders.add(folder(library).getName());
+        }
+
+        manifest.keySet().retainAll(coordinates);
+
+        File[] files = directory.listFiles();
+        if (files == null) return;
+
+        for (File file : files) {
+            boolean looseJar = file.isFile() && file.getName().endsWith(".jar");
+            boolean oldFolder = file.isDirectory() && !folders.contains(file.getName());
+
+            if (looseJar || oldFolder) {
+                deleteRecursively(file);
+            }
+        }
+    }
+
+    private void readManifest() {
+        File file = new File(directory, "manifest.txt");
+        if (!file.isFile()) return;
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(" ", 3);
+                if (parts.length != 3) continue;
+
+                manifest.computeIfAbsent(parts[0], c -> new TreeMap<>()).put(parts[2], parts[1]);
+            }
+        } catch (IOException e) {
+            manifest.clear();
+        }
+    }
+
+    private void writeManifest() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(new File(directory, "manifest.txt").toPath(), StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Map<String, String>> library : manifest.entrySet()) {
+                for (Map.Entry<String, String> jar : library.getValue().entrySet()) {
+                    writer.write(library.getKey() + " " + jar.getValue() + " " + jar.getKey());
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        byte[] buffer = new byte[65536];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static final class RecordingClassLoader extends URLClassLoaderWrapper {
+
+        private final URLClassLoaderWrapper delegate;
+        private final List<URL> added = Collections.synchronizedList(new ArrayList<>());
+
+        private RecordingClassLoader(URLClassLoaderWrapper delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void addURL(URL url) {
+            added.add(url);
+            delegate.addURL(url);
+        }
+    }
+}
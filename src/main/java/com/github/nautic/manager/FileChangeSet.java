@@ -0,0 +1,57 @@
+package com.github.nautic.manager;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class FileChangeSet {
+
+    private final Set<String> added = new LinkedHashSet<>();
+    private final Set<String> modified = new LinkedHashSet<>();
+    private final Set<String> removed = new LinkedHashSet<>();
+
+    void added(String fileId) {
+        added.add(fileId);
+    }
+
+    void modified(String fileId) {
+        modified.add(fileId);
+    }
+
+    void removed(String fileId) {
+        removed.add(fileId);
+    }
+
+    public void merge(FileChangeSet other) {
+        added.addAll(other.added);
+        modified.addAll(other.modified);
+        removed.addAll(other.removed);
+    }
+
+    public Set<String> getAdded() {
+        return Collections.unmodifiableSet(added);
+    }
+
+    public Set<String> getModified() {
+        return Collections.unmodifiableSet(modified);
+    }
+
+    public Set<String> getRemoved() {
+        return Collections.unmodifiableSet(removed);
+    }
+
+    public Set<String> getAffected() {
+        Set<String> all = new LinkedHashSet<>(added);
+        all.addAll(modified);
+        all.addAll(removed);
+        return all;
+    }
+
+    public int size() {
+        return added.size() + modified.size() + removed.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -1,52 +1,282 @@
 package com.github.nautic.manager;
 
 import com.github.nautic.AtlasLang;
+import com.github.nautic.api.event.LanguageReloadEvent;
+import com.github.nautic.utils.addColor;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class FileManager {
 
-    private final Map<String, YamlConfiguration> loadedFiles = new HashMap<>();
-    private final Map<String, FileConfiguration> configs = new HashMap<>();
+    /**
+     * Published view of every loaded file. Writers collect a whole batch of
+     * changes and apply it in one publish, so readers on any thread see either
+     * the previous or the next state, never a partial reload.
+     */
+    private final TranslationStore store = new TranslationStore();
+
+    private final Map<String, FileState> fileStates = new HashMap<>();
+    private final Map<String, TranslationSnapshot.Entry> snapshotEntries = new HashMap<>();
+    private final List<Consumer<String>> invalidationListeners = new CopyOnWriteArrayList<>();
+    private final Set<String> pendingLoads = ConcurrentHashMap.newKeySet();
+    private final Map<String, TranslationBundle> bundles = new LinkedHashMap<>();
+
+    /**
+     * Values set at runtime that are not on disk yet, by file id. They are
+     * layered over the file whenever it is loaded again, until the write
+     * that persists them has finished.
+     */
+    private final Map<String, Map<String, String>> overlay = new HashMap<>();
     private final File baseLanguageDir;
 
+    private boolean snapshotDirty;
+
+    private volatile boolean lazy;
+    private long maxBytes = Long.MAX_VALUE;
+    private ExecutorService loader;
+    private ExecutorService writer;
+    private BukkitTask compressionTask;
+    private Function<String, String> languageResolver = lang -> null;
+
+    public enum LoadState {
+        LOADED,
+        LOADING,
+        MISSING
+    }
+
     public FileManager(File baseLanguageDir) {
         this.baseLanguageDir = baseLanguageDir;
     }
 
-    public void clearCache() {
-        loadedFiles.clear();
-        configs.clear();
+    /**
+     * In lazy mode only the system file of each language is loaded up front;
+     * every other file is loaded on first access and the least recently used
+     * ones are evicted once the loaded values exceed {@code maxBytes}.
+     */
+    public synchronized void configureLoading(boolean lazy, long maxBytes) {
+        this.lazy = lazy;
+        this.maxBytes = maxBytes > 0 ? maxBytes : Long.MAX_VALUE;
+
+        if (lazy && loader == null) {
+            loader = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "AtlasLang-FileLoader");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        evict();
+    }
+
+    /**
+     * Keeps the values of languages that have not been read for
+     * {@code idleMillis} deflated in memory instead of dropping them, so
+     * memory follows the languages players actually use without paying
+     * disk access when one of the others is needed again.
+     */
+    public synchronized void configureCompression(long idleMillis) {
+        if (compressionTask != null) {
+            compressionTask.cancel();
+            compressionTask = null;
+        }
+
+        if (idleMillis <= 0) return;
+
+        long idleNanos = idleMillis * 1_000_000L;
+        long period = Math.max(20, idleMillis / 50 / 4);
+
+        compressionTask = Bukkit.getScheduler().runTaskTimerAsynchronously(
+                AtlasLang.getInstance(),
+                () -> {
+                    if (store.compressIdle(idleNanos) == 0) return;
+
+                    synchronized (this) {
+                        store.reclaim();
+                    }
+                },
+                period,
+                period
+        );
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public void shutdown() {
+        ExecutorService pendingWrites;
+
+        synchronized (this) {
+            if (loader != null) loader.shutdownNow();
+
+            if (compressionTask != null) {
+                compressionTask.cancel();
+                compressionTask = null;
+            }
+
+            pendingWrites = writer;
+            writer = null;
+        }
+
+        if (pendingWrites == null) return;
+
+        pendingWrites.shutdown();
+        try {
+            if (!pendingWrites.awaitTermination(10, TimeUnit.SECONDS)) {
+                AtlasLang.getInstance().getLogger().warning("Some translation edits could not be saved in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public File getBaseLanguageDir() {
+        return baseLanguageDir;
+    }
+
+    public TranslationStore getStore() {
+        return store;
+    }
+
+    public synchronized void clearCache() {
+        Batch batch = new Batch();
+
+        for (String id : store.getFileIds()) {
+            unload(batch, id);
+        }
+
+        publish(batch);
+    }
+
+    public void addInvalidationListener(Consumer<String> listener) {
+        invalidationListeners.add(listener);
     }
 
-    public void loadFile(String id, File file) {
+    public synchronized void loadFile(String id, File file) {
         if (!file.exists()) return;
 
-        YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
-        String key = id.toLowerCase();
+        Batch batch = new Batch();
 
-        loadedFiles.put(key, cfg);
-        configs.put(key, cfg);
+        if (!fileStates.containsKey(id.toLowerCase()) && restore(batch, id.toLowerCase(), file)) {
+            publish(batch);
+            return;
+        }
+
+        try {
+            byte[] content = Files.readAllBytes(file.toPath());
+            parse(batch, id.toLowerCase(), file, content);
+        } catch (IOException e) {
+            AtlasLang.getInstance().getLogger().warning("Could not read " + file.getPath() + ": " + e.getMessage());
+        }
+
+        publish(batch);
     }
 
     public String get(String id, String path) {
-        YamlConfiguration cfg = loadedFiles.get(id.toLowerCase());
-        return cfg != null ? cfg.getString(path) : null;
+        String key = id.toLowerCase();
+        int split = key.indexOf(':');
+        if (split == -1) return null;
+
+        return store.get(key.substring(0, split), key.substring(split + 1), path);
+    }
+
+    /**
+     * Returns a copy of the compiled table of a loaded file. Lookups should go
+     * through {@link #getStore()} instead, which does not copy.
+     */
+    public TranslationTable getTable(String fileId) {
+        String key = fileId.toLowerCase();
+        int split = key.indexOf(':');
+        if (split == -1) return null;
+
+        return store.getTable(key.substring(0, split), key.substring(split + 1));
+    }
+
+    /**
+     * Parses the source file of a loaded id from disk. Lookups should use
+     * {@link #getTable(String)}, which is compiled and cached.
+     */
+    public synchronized FileConfiguration getConfig(String fileId) {
+        FileState state = fileStates.get(fileId.toLowerCase());
+        return state != null ? YamlConfiguration.loadConfiguration(state.file) : null;
     }
 
-    public FileConfiguration getConfig(String fileId) {
-        return configs.get(fileId.toLowerCase());
+    /**
+     * Seeds this manager with the tables of a previous run. Files whose mtime
+     * and size (or, failing that, content hash) still match are taken from the
+     * snapshot instead of being parsed again.
+     */
+    public synchronized void loadSnapshot(File folder, String pluginVersion) {
+        try {
+            snapshotEntries.putAll(TranslationSnapshot.read(folder, pluginVersion));
+        } catch (IOException e) {
+            AtlasLang.getInstance().getLogger().warning("Could not read translation snapshot: " + e.getMessage());
+        }
+    }
+
+    public synchronized void saveSnapshot(File folder, String pluginVersion) {
+        if (!snapshotDirty) return;
+
+        Map<String, TranslationSnapshot.Entry> entries = new HashMap<>();
+
+        for (Map.Entry<String, TranslationSnapshot.Entry> entry : snapshotEntries.entrySet()) {
+            if (sourceFile(entry.getKey()).isFile()) {
+                entries.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        for (Map.Entry<String, FileState> entry : fileStates.entrySet()) {
+            TranslationTable table = getTable(entry.getKey());
+            if (table == null) continue;
+
+            FileState state = entry.getValue();
+            entries.put(entry.getKey(), new TranslationSnapshot.Entry(state.lastModified, state.size, state.hash, table));
+        }
+
+        if (!lazy) {
+            snapshotEntries.clear();
+        }
+
+        try {
+            TranslationSnapshot.write(folder, pluginVersion, entries);
+            snapshotDirty = false;
+        } catch (IOException e) {
+            AtlasLang.getInstance().getLogger().warning("Could not write translation snapshot: " + e.getMessage());
+        }
     }
 
     public boolean isLoaded(String id) {
-        return loadedFiles.containsKey(id.toLowerCase());
+        String key = id.toLowerCase();
+        int split = key.indexOf(':');
+        if (split == -1) return false;
+
+        return store.isLoaded(key.substring(0, split), key.substring(split + 1));
     }
 
     public void loadByLangAndPath(String lang, String relativePath) {
@@ -56,10 +286,300 @@ public class FileManager {
         loadFile(id, file);
     }
 
-    public void loadLanguageFolder(String lang) {
+    /**
+     * Makes sure a file that is not loaded yet gets loaded. In lazy mode a
+     * call from the main thread only queues the load on the loader thread and
+     * returns {@link LoadState#LOADING}, so the caller can answer with a
+     * fallback instead of blocking the tick on disk access.
+     */
+    public LoadState ensureLoaded(String lang, String relativePath) {
+        String id = lang.toLowerCase() + ":" + relativePath.toLowerCase();
+        if (isLoaded(id)) return LoadState.LOADED;
+
+        File file = new File(baseLanguageDir, lang + "/" + relativePath + ".yml");
+        if (!isLanguageFile(lang, file) || !file.isFile()) return LoadState.MISSING;
+
+        if (lazy && loader != null && Bukkit.isPrimaryThread()) {
+            if (pendingLoads.add(id)) {
+                loader.execute(() -> {
+                    try {
+                        loadFile(id, file);
+                    } finally {
+                        pendingLoads.remove(id);
+                    }
+                });
+            }
+            return LoadState.LOADING;
+        }
+
+        loadFile(id, file);
+        return isLoaded(id) ? LoadState.LOADED : LoadState.MISSING;
+    }
+
+    public synchronized void loadLanguageFolder(String lang) {
         File folder = new File(baseLanguageDir, lang);
         if (!folder.exists() || !folder.isDirectory()) return;
-        loadFilesRecursively(lang.toLowerCase(), folder);
+
+        Batch batch = new Batch();
+
+        for (Map.Entry<String, File> entry : scanLanguage(lang.toLowerCase()).entrySet()) {
+            if (lazy && !isPinned(entry.getKey())) continue;
+            refresh(batch, entry.getKey(), entry.getValue());
+        }
+
+        publish(batch);
+    }
+
+    /**
+     * Compares every file of a language folder against the state recorded at
+     * its last load and reparses only the files that were added or changed.
+     * Files that disappeared from disk are unloaded.
+     */
+    public FileChangeSet reloadLanguage(String lang) {
+        Batch batch = new Batch();
+
+        synchronized (this) {
+            reloadLanguage(batch, lang.toLowerCase());
+            publish(batch);
+        }
+
+        return fireReload(batch);
+    }
+
+    /**
+     * Reloads the given languages and unloads every other language in a single
+     * publish, so a full reload is observed atomically.
+     */
+    public FileChangeSet reloadLanguages(Collection<String> langs) {
+        Batch batch = new Batch();
+        Set<String> keep = new HashSet<>();
+
+        synchronized (this) {
+            for (String lang : langs) {
+                keep.add(lang.toLowerCase());
+                reloadLanguage(batch, lang.toLowerCase());
+            }
+
+            for (String id : store.getFileIds()) {
+                if (!keep.contains(id.substring(0, id.indexOf(':')))) {
+                    unload(batch, id);
+                }
+            }
+
+            for (TranslationBundle bundle : bundles.values()) {
+                loadBundle(batch, bundle);
+            }
+
+            publish(batch);
+        }
+
+        return fireReload(batch);
+    }
+
+    /**
+     * Sets how language names used inside bundles are mapped to registered
+     * language folders.
+     */
+    public synchronized void setLanguageResolver(Function<String, String> languageResolver) {
+        this.languageResolver = languageResolver;
+    }
+
+    /**
+     * Loads a bundle into the store and keeps it registered, so it is loaded
+     * again on every full reload. Registering a namespace again replaces the
+     * previous bundle.
+     */
+    public FileChangeSet registerBundle(TranslationBundle bundle) {
+        Batch batch = new Batch();
+
+        synchronized (this) {
+            bundles.put(bundle.getNamespace(), bundle);
+            loadBundle(batch, bundle);
+            publish(batch);
+        }
+
+        return fireReload(batch);
+    }
+
+    public FileChangeSet unregisterBundle(String namespace) {
+        Batch batch = new Batch();
+
+        synchronized (this) {
+            TranslationBundle bundle = bundles.remove(namespace.toLowerCase());
+
+            if (bundle != null) {
+                String marker = ":" + bundle.getNamespace() + ":";
+                for (String id : store.getFileIds()) {
+                    if (id.contains(marker)) batch.unload(id);
+                }
+            }
+
+            publish(batch);
+        }
+
+        return fireReload(batch);
+    }
+
+    public synchronized Set<String> getBundleNamespaces() {
+        return new HashSet<>(bundles.keySet());
+    }
+
+    /**
+     * Folder holding the admin's overrides of bundle files, next to the
+     * languages folder.
+     */
+    public File getBundleOverridesDir() {
+        return new File(baseLanguageDir.getParentFile(), "bundles");
+    }
+
+    /**
+     * Changes a single value of a loaded file in place. The new value is
+     * visible as soon as this returns, without reloading the file or
+     * touching any other key, and is written back to the file of the key
+     * (or, for a bundle, to its overrides file) on a background thread.
+     *
+     * @param file the file id part, as in {@code lang:file}; bundle files as {@code namespace:file}
+     * @return false if the file is not loaded and has no source to load it from,
+     *         or if it lies outside the folder of its language
+     */
+    public synchronized boolean setTranslation(String lang, String file, String path, String value) {
+        String id = lang.toLowerCase() + ":" + file.replace("\\", "/").replace(".yml", "").toLowerCase();
+        int split = id.indexOf(':');
+        String langKey = id.substring(0, split);
+        String fileKey = id.substring(split + 1);
+        boolean bundle = fileKey.indexOf(':') != -1;
+
+        File target = bundle ? overrideFile(langKey, fileKey) : sourceFile(id);
+        if (!(bundle ? isInside(target, getBundleOverridesDir()) : isLanguageFile(langKey, target))) return false;
+
+        if (!isLoaded(id)) {
+            File source = sourceFile(id);
+            if (bundle || !source.isFile()) return false;
+
+            Batch batch = new Batch();
+            refresh(batch, id, source);
+            publish(batch);
+
+            if (!isLoaded(id)) return false;
+        }
+
+        String compiled = addColor.Set(value.trim());
+
+        if (MessagePattern.isComplex(compiled)) {
+            String error = store.precompile(compiled);
+            if (error != null) {
+                AtlasLang.getInstance().getLogger().warning(
+                        "Invalid message format in " + id + " at " + path + ": " + error
+                );
+            }
+        }
+
+        overlay.computeIfAbsent(id, k -> new HashMap<>()).put(path, compiled);
+        store.put(langKey, fileKey, path, compiled);
+        invalidate(id);
+
+        if (writer == null) {
+            writer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "AtlasLang-FileWriter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        writer.execute(() -> persist(id, target, path, value, compiled));
+        return true;
+    }
+
+    /**
+     * Writes one edited value to disk. Runs on the writer thread, one edit
+     * after another, so edits of the same file are saved in order.
+     */
+    private void persist(String id, File target, String path, String value, String compiled) {
+        byte[] content;
+
+        try {
+            YamlConfiguration cfg = new YamlConfiguration();
+            if (target.isFile()) {
+                cfg.loadFromString(Files.readString(target.toPath()));
+            } else {
+                target.getParentFile().mkdirs();
+            }
+
+            cfg.set(path, value);
+            content = cfg.saveToString().getBytes(StandardCharsets.UTF_8);
+            Files.write(target.toPath(), content);
+        } catch (IOException | InvalidConfigurationException e) {
+            AtlasLang.getInstance().getLogger().warning("Could not save " + path + " to " + target.getPath() + ": " + e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            Map<String, String> pending = overlay.get(id);
+            if (pending != null && compiled.equals(pending.get(path))) {
+                pending.remove(path);
+                if (pending.isEmpty()) overlay.remove(id);
+            }
+
+            // The store already holds the edit, so there is nothing to parse
+            // when the watcher reports the write.
+            if (fileStates.containsKey(id)) {
+                fileStates.put(id, new FileState(target, target.lastModified(), target.length(), hash(content)));
+                snapshotDirty = true;
+            }
+        }
+    }
+
+    public FileChangeSet reloadFile(String lang, String relativePath) {
+        Batch batch = new Batch();
+
+        synchronized (this) {
+            reloadFile(batch, lang.toLowerCase(), relativePath);
+            publish(batch);
+        }
+
+        return fireReload(batch);
+    }
+
+    /**
+     * Reloads whole languages and individual files together in a single publish.
+     */
+    public FileChangeSet reload(Collection<String> langs, Map<String, ? extends Collection<String>> filesByLang) {
+        Batch batch = new Batch();
+
+        synchronized (this) {
+            for (String lang : langs) {
+                reloadLanguage(batch, lang.toLowerCase());
+            }
+
+            for (Map.Entry<String, ? extends Collection<String>> entry : filesByLang.entrySet()) {
+                if (langs.contains(entry.getKey())) continue;
+
+                for (String relativePath : entry.getValue()) {
+                    reloadFile(batch, entry.getKey().toLowerCase(), relativePath);
+                }
+            }
+
+            publish(batch);
+        }
+
+        return fireReload(batch);
+    }
+
+    public FileChangeSet unloadLanguage(String lang) {
+        String prefix = lang.toLowerCase() + ":";
+        Batch batch = new Batch();
+
+        synchronized (this) {
+            for (String id : store.getFileIds()) {
+                if (id.startsWith(prefix)) {
+                    unload(batch, id);
+                }
+            }
+
+            publish(batch);
+        }
+
+        return fireReload(batch);
     }
 
     public void prepareLanguage(String lang, String defaultFile) {
@@ -85,15 +605,254 @@ public class FileManager {
         }
     }
 
-    private void loadFilesRecursively(String lang, File folder) {
+    private void reloadLanguage(Batch batch, String lang) {
+        String prefix = lang + ":";
+        Map<String, File> found = scanLanguage(lang);
+
+        for (String id : new ArrayList<>(fileStates.keySet())) {
+            if (id.startsWith(prefix) && !found.containsKey(id)) {
+                unload(batch, id);
+            }
+        }
+
+        for (Map.Entry<String, File> entry : found.entrySet()) {
+            if (lazy && !isPinned(entry.getKey()) && !fileStates.containsKey(entry.getKey())) continue;
+            refresh(batch, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void loadBundle(Batch batch, TranslationBundle bundle) {
+        Map<String, TranslationTable> tables = bundle.compile(languageResolver, getBundleOverridesDir());
+        String marker = ":" + bundle.getNamespace() + ":";
+
+        for (String id : store.getFileIds()) {
+            if (id.contains(marker) && !tables.containsKey(id)) {
+                batch.unload(id);
+            }
+        }
+
+        for (Map.Entry<String, TranslationTable> entry : tables.entrySet()) {
+            TranslationTable current = getTable(entry.getKey());
+
+            if (current == null || !current.values().equals(entry.getValue().values())) {
+                batch.load(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void reloadFile(Batch batch, String lang, String relativePath) {
+        String cleanPath = relativePath.replace("\\", "/").replace(".yml", "").toLowerCase();
+        String id = lang + ":" + cleanPath;
+        File file = new File(baseLanguageDir, lang + "/" + cleanPath + ".yml");
+
+        if (!isLanguageFile(lang, file)) return;
+
+        if (!file.exists()) {
+            if (fileStates.containsKey(id)) {
+                unload(batch, id);
+            }
+            return;
+        }
+
+        refresh(batch, id, file);
+    }
+
+    private void refresh(Batch batch, String id, File file) {
+        FileState previous = fileStates.get(id);
+
+        if (previous == null && restore(batch, id, file)) {
+            return;
+        }
+
+        if (previous != null
+                && previous.lastModified == file.lastModified()
+                && previous.size == file.length()) {
+            return;
+        }
+
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            AtlasLang.getInstance().getLogger().warning("Could not read " + file.getPath() + ": " + e.getMessage());
+            return;
+        }
+
+        if (previous != null && previous.hash.equals(hash(content))) {
+            fileStates.put(id, new FileState(file, file.lastModified(), file.length(), previous.hash));
+            snapshotDirty = true;
+            return;
+        }
+
+        parse(batch, id, file, content);
+    }
+
+    private boolean restore(Batch batch, String id, File file) {
+        TranslationSnapshot.Entry cached = lazy ? snapshotEntries.get(id) : snapshotEntries.remove(id);
+        if (cached == null) return false;
+
+        String hash = cached.hash;
+
+        if (cached.lastModified != file.lastModified() || cached.size != file.length()) {
+            try {
+                hash = hash(Files.readAllBytes(file.toPath()));
+            } catch (IOException e) {
+                return false;
+            }
+
+            if (!hash.equals(cached.hash)) {
+                snapshotEntries.remove(id);
+                return false;
+            }
+            snapshotDirty = true;
+        }
+
+        batch.load(id, cached.table());
+        fileStates.put(id, new FileState(file, file.lastModified(), file.length(), hash));
+        return true;
+    }
+
+    private void parse(Batch batch, String id, File file, byte[] content) {
+        YamlConfiguration cfg = new YamlConfiguration();
+
+        try {
+            cfg.loadFromString(new String(content, StandardCharsets.UTF_8));
+        } catch (InvalidConfigurationException e) {
+            AtlasLang.getInstance().getLogger().warning("Invalid YAML in " + file.getPath() + ": " + e.getMessage());
+        }
+
+        batch.load(id, TranslationTable.compile(cfg));
+        fileStates.put(id, new FileState(file, file.lastModified(), file.length(), hash(content)));
+        snapshotEntries.remove(id);
+        snapshotDirty = true;
+    }
+
+    private void unload(Batch batch, String id) {
+        batch.unload(id);
+        fileStates.remove(id);
+        snapshotDirty = true;
+    }
+
+    private FileChangeSet publish(Batch batch) {
+        if (batch.changes.isEmpty()) return batch.changes;
+
+        for (Map.Entry<String, TranslationTable> table : batch.loaded.entrySet()) {
+            for (Map.Entry<String, String> value : table.getValue().values().entrySet()) {
+                if (!MessagePattern.isComplex(value.getValue())) continue;
+
+                String error = store.precompile(value.getValue());
+                if (error != null) {
+                    AtlasLang.getInstance().getLogger().warning(
+                            "Invalid message format in " + table.getKey() + " at " + value.getKey() + ": " + error
+                    );
+                }
+            }
+        }
+
+        store.apply(batch.loaded, batch.removed);
+        batch.version = store.getVersion();
+        batch.changes.getAffected().forEach(this::invalidate);
+
+        evict();
+        return batch.changes;
+    }
+
+    /**
+     * Announces a published reload. Must be called after the monitor is
+     * released, so a listener calling back into the file manager, from
+     * this or another thread, cannot deadlock.
+     */
+    private FileChangeSet fireReload(Batch batch) {
+        if (!batch.changes.isEmpty()) {
+            Bukkit.getPluginManager().callEvent(new LanguageReloadEvent(batch.version, batch.changes));
+        }
+
+        return batch.changes;
+    }
+
+    /**
+     * Drops the least recently used files until the loaded values fit in the
+     * configured memory bound again. Evicted files are not reported as
+     * changes, they are simply loaded again on their next access.
+     *
+     * A file restored from the snapshot still has its entry, so loading it
+     * again decodes the mapped snapshot. A file that had to be parsed has no
+     * entry (keeping its table would defeat the eviction) and is parsed
+     * again until a snapshot including it is written.
+     */
+    private void evict() {
+        long excess = store.getWeight() - maxBytes;
+        if (!lazy || excess <= 0) return;
+
+        Batch batch = new Batch();
+
+        for (String id : store.getEvictionCandidates(excess)) {
+            batch.unload(id);
+            fileStates.remove(id);
+        }
+
+        if (batch.removed.isEmpty()) return;
+
+        store.apply(batch.loaded, batch.removed);
+        batch.removed.forEach(this::invalidate);
+    }
+
+    private boolean isPinned(String id) {
+        int split = id.indexOf(':');
+        return id.substring(0, split).equals(id.substring(split + 1));
+    }
+
+    private File sourceFile(String id) {
+        int split = id.indexOf(':');
+        return new File(baseLanguageDir, id.substring(0, split) + "/" + id.substring(split + 1) + ".yml");
+    }
+
+    /**
+     * Returns true if {@code file} lies inside the folder of {@code lang}.
+     * File names come from commands and the API, so without this check a
+     * name like {@code ../../OtherPlugin/config} would reach any YAML file
+     * on the server.
+     */
+    private boolean isLanguageFile(String lang, File file) {
+        File folder = new File(baseLanguageDir, lang);
+        return isInside(folder, baseLanguageDir) && isInside(file, folder);
+    }
+
+    private static boolean isInside(File file, File folder) {
+        Path root = folder.toPath().toAbsolutePath().normalize();
+        Path path = file.toPath().toAbsolutePath().normalize();
+        return path.startsWith(root) && !path.equals(root);
+    }
+
+    private File overrideFile(String lang, String bundleFile) {
+        int split = bundleFile.indexOf(':');
+        return new File(getBundleOverridesDir(), bundleFile.substring(0, split) + "/" + lang + "/" + bundleFile.substring(split + 1) + ".yml");
+    }
+
+    private void invalidate(String id) {
+        for (Consumer<String> listener : invalidationListeners) {
+            listener.accept(id);
+        }
+    }
+
+    private Map<String, File> scanLanguage(String lang) {
+        Map<String, File> found = new HashMap<>();
+
+        File folder = new File(baseLanguageDir, lang);
+        if (folder.isDirectory()) {
+            scanRecursively(lang, folder, folder, found);
+        }
+
+        return found;
+    }
+
+    private void scanRecursively(String lang, File base, File folder, Map<String, File> found) {
         File[] files = folder.listFiles();
         if (files == null) return;
 
-        File base = new File(baseLanguageDir, lang);
-
         for (File file : files) {
             if (file.isDirectory()) {
-                loadFilesRecursively(lang, file);
+                scanRecursively(lang, base, file, found);
                 continue;
             }
 
@@ -104,11 +863,77 @@ public class FileManager {
                     .replace("\\", "/")
                     .replace(".yml", "");
 
-            loadFile(lang + ":" + relative.toLowerCase(), file);
+            found.put(lang + ":" + relative.toLowerCase(), file);
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                        .append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 
     public Set<String> getLoadedFileIds() {
-        return new HashSet<>(loadedFiles.keySet());
+        return store.getFileIds();
+    }
+
+    /**
+     * Files loaded and removed by one reload, applied to the store together.
+     */
+    private final class Batch {
+
+        private final Map<String, TranslationTable> loaded = new HashMap<>();
+        private final Set<String> removed = new HashSet<>();
+        private final FileChangeSet changes = new FileChangeSet();
+        private long version;
+
+        private void load(String id, TranslationTable table) {
+            boolean existed = loaded.containsKey(id) || isLoaded(id);
+
+            Map<String, String> edits = overlay.get(id);
+            if (edits != null) {
+                Map<String, String> values = new HashMap<>(table.values());
+                values.putAll(edits);
+                table = new TranslationTable(values);
+            }
+
+            removed.remove(id);
+            loaded.put(id, table);
+
+            if (existed) {
+                changes.modified(id);
+            } else {
+                changes.added(id);
+            }
+        }
+
+        private void unload(String id) {
+            loaded.remove(id);
+            removed.add(id);
+            changes.removed(id);
+        }
+    }
+
+    private static final class FileState {
+
+        private final File file;
+        private final long lastModified;
+        private final long size;
+        private final String hash;
+
+        private FileState(File file, long lastModified, long size, String hash) {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = hash;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,26 +1,38 @@
 package com.github.nautic.manager;
 
+import com.github.nautic.api.event.PlayerLanguageChangeEvent;
+import com.github.nautic.database.Database;
+import com.github.nautic.database.DatabaseManager;
+import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.FileConfiguration;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LanguageManager {
 
     private final FileManager fileManager;
-    private final Map<String, String> languageMap = new HashMap<>();
+    private final Map<String, String> languageMap = new ConcurrentHashMap<>();
+    private volatile LocaleIndex localeIndex = LocaleIndex.build(Map.of(), Map.of());
     private String defaultLang = "english";
 
     public LanguageManager(FileManager fileManager) {
         this.fileManager = fileManager;
+        this.fileManager.setLanguageResolver(this::resolveLanguageStrict);
     }
 
     public void loadLanguagesFromConfig(FileConfiguration config) {
         languageMap.clear();
 
         defaultLang = config.getString("default", "english").toLowerCase();
+        configureLoading(config);
+
+        Map<String, String> registered = new LinkedHashMap<>();
 
         for (String entry : config.getStringList("register.languages")) {
             String[] parts = entry.split(":");
@@ -31,30 +43,38 @@ public class LanguageManager {
             String defaultFile = parts[2];
 
             languageMap.put(locale, folder);
+            registered.put(locale, folder);
 
             fileManager.prepareLanguage(folder, defaultFile);
             fileManager.loadLanguageFolder(folder);
         }
+
+        rebuildIndex(config, registered);
     }
 
     public String resolveLanguageStrict(String input) {
-        if (input == null || input.isEmpty()) return null;
-
-        input = input.toLowerCase();
-
-        if (languageMap.containsKey(input)) {
-            return languageMap.get(input);
-        }
+        return localeIndex.resolve(input);
+    }
 
-        if (languageMap.containsValue(input)) {
-            return input;
-        }
+    public boolean isRegisteredLanguage(String lang) {
+        return localeIndex.isFolder(lang);
+    }
 
-        return null;
+    /**
+     * Returns the locale a language folder was registered with, or null if
+     * the folder is not registered.
+     */
+    public String getLocale(String lang) {
+        return localeIndex.getLocale(lang);
     }
 
-    public boolean isRegisteredLanguage(String lang) {
-        return lang != null && languageMap.containsValue(lang.toLowerCase());
+    /**
+     * The index lookups are currently resolved with. A new instance is built
+     * on every config load, so callers can cache anything derived from it by
+     * identity.
+     */
+    public LocaleIndex getLocaleIndex() {
+        return localeIndex;
     }
 
     public Set<String> getRegisteredLanguages() {
@@ -65,10 +85,81 @@ public class LanguageManager {
         return defaultLang;
     }
 
-    public void reloadLanguages(FileConfiguration config) {
+    public FileChangeSet reloadLanguages(FileConfiguration config) {
         languageMap.clear();
-        fileManager.clearCache();
-        loadLanguagesFromConfig(config);
+        defaultLang = config.getString("default", "english").toLowerCase();
+        configureLoading(config);
+
+        Map<String, String> registered = new LinkedHashMap<>();
+
+        for (String entry : config.getStringList("register.languages")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 3) continue;
+
+            String locale = parts[0].toLowerCase();
+            String folder = parts[1].toLowerCase();
+            String defaultFile = parts[2];
+
+            languageMap.put(locale, folder);
+            registered.put(locale, folder);
+
+            fileManager.prepareLanguage(folder, defaultFile);
+        }
+
+        rebuildIndex(config, registered);
+
+        return fileManager.reloadLanguages(getRegisteredLanguages());
+    }
+
+    private void rebuildIndex(FileConfiguration config, Map<String, String> registered) {
+        Map<String, String> aliases = new LinkedHashMap<>();
+
+        for (String entry : config.getStringList("register.aliases")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) continue;
+
+            aliases.put(parts[0].toLowerCase(), parts[1].toLowerCase());
+        }
+
+        localeIndex = LocaleIndex.build(registered, aliases);
+    }
+
+    private void configureLoading(FileConfiguration config) {
+        fileManager.configureLoading(
+                config.getBoolean("loading.lazy", false),
+                config.getLong("loading.max-memory-kb", 16384) * 1024
+        );
+        fileManager.configureCompression(config.getLong("loading.compress-after-minutes", 0) * 60_000L);
+    }
+
+    public FileChangeSet reloadLanguage(String lang) {
+        return fileManager.reloadLanguage(lang);
+    }
+
+    public FileChangeSet reloadFile(String lang, String relativePath) {
+        return fileManager.reloadFile(lang, relativePath);
+    }
+
+    /**
+     * Stores the language of a player after firing a
+     * {@link PlayerLanguageChangeEvent}. Returns false if a listener
+     * cancelled the change.
+     */
+    public boolean setPlayerLanguage(UUID uuid, String language, PlayerLanguageChangeEvent.Cause cause) {
+        Database database = DatabaseManager.getDatabase();
+
+        PlayerLanguageChangeEvent event = new PlayerLanguageChangeEvent(
+                uuid,
+                database.getLanguagePlayer(uuid),
+                language,
+                cause
+        );
+        Bukkit.getPluginManager().callEvent(event);
+
+        if (event.isCancelled()) return false;
+
+        database.setLanguagePlayer(uuid, language);
+        return true;
     }
 
     public Map<String, String> getLanguageMap() {
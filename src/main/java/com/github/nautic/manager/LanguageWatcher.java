@@ -0,0 +1,187 @@
+package com.github.nautic.manager;
+
+import com.github.nautic.AtlasLang;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watches the languages folder and reloads changed files in the background.
+ *
+ * Events are collected until the folder has been quiet for the debounce
+ * window, then the whole burst is applied as one incremental reload.
+ */
+public class LanguageWatcher {
+
+    private final AtlasLang plugin;
+    private final FileManager fileManager;
+    private final LanguageManager languageManager;
+    private final Path root;
+    private final long debounceMillis;
+
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Set<Path> pending = new HashSet<>();
+
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean running;
+
+    public LanguageWatcher(AtlasLang plugin, FileManager fileManager, LanguageManager languageManager, long debounceMillis) {
+        this.plugin = plugin;
+        this.fileManager = fileManager;
+        this.languageManager = languageManager;
+        this.root = fileManager.getBaseLanguageDir().toPath().toAbsolutePath();
+        this.debounceMillis = Math.max(50, debounceMillis);
+    }
+
+    public void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        registerRecursively(root);
+
+        running = true;
+        thread = new Thread(this::run, "AtlasLang-LanguageWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+
+        try {
+            if (watchService != null) watchService.close();
+        } catch (IOException ignored) {
+        }
+
+        if (thread != null) thread.interrupt();
+    }
+
+    private void run() {
+        long firstEvent = 0;
+
+        while (running) {
+            try {
+                WatchKey key = pending.isEmpty()
+                        ? watchService.take()
+                        : watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+
+                if (key == null) {
+                    flush();
+                    continue;
+                }
+
+                if (pending.isEmpty()) {
+                    firstEvent = System.currentTimeMillis();
+                }
+
+                collect(key);
+
+                if (!pending.isEmpty() && System.currentTimeMillis() - firstEvent > debounceMillis * 10) {
+                    flush();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            } catch (Exception e) {
+                plugin.getLogger().warning("Language hot reload failed: " + e.getMessage());
+                pending.clear();
+            }
+        }
+    }
+
+    private void collect(WatchKey key) {
+        Path dir = directories.get(key);
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                pending.add(root);
+                continue;
+            }
+
+            if (dir == null) continue;
+
+            Path child = dir.resolve((Path) event.context());
+
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(child)) {
+                registerRecursively(child);
+            }
+
+            pending.add(child);
+        }
+
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+    }
+
+    private void flush() {
+        Set<String> languages = new HashSet<>();
+        Map<String, Set<String>> files = new HashMap<>();
+
+        for (Path path : pending) {
+            if (path.equals(root)) {
+                languages.addAll(languageManager.getRegisteredLanguages());
+                continue;
+            }
+
+            Path relative = root.relativize(path);
+            String lang = relative.getName(0).toString().toLowerCase();
+
+            if (!languageManager.isRegisteredLanguage(lang)) continue;
+
+            String name = relative.getFileName().toString();
+
+            if (relative.getNameCount() == 1 || Files.isDirectory(path) || !name.endsWith(".yml")) {
+                languages.add(lang);
+                continue;
+            }
+
+            files.computeIfAbsent(lang, l -> new HashSet<>())
+                    .add(relative.subpath(1, relative.getNameCount()).toString());
+        }
+
+        pending.clear();
+
+        if (languages.isEmpty() && files.isEmpty()) return;
+
+        FileChangeSet changes = fileManager.reload(languages, files);
+
+        if (!changes.isEmpty()) {
+            plugin.getLogger().info("Hot reloaded " + changes.size() + " language file(s): "
+                    + String.join(", ", changes.getAffected()));
+        }
+    }
+
+    private void registerRecursively(Path start) {
+        try (Stream<Path> paths = Files.walk(start)) {
+            paths.filter(Files::isDirectory).forEach(this::register);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not watch " + start + ": " + e.getMessage());
+        }
+    }
+
+    private void register(Path dir) {
+        try {
+            WatchKey key = dir.register(
+                    watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE
+            );
+            directories.put(key, dir);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not watch " + dir + ": " + e.getMessage());
+        }
+    }
+}
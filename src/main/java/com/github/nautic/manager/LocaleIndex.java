@@ -0,0 +1,158 @@
+package com.github.nautic.manager;
+
+import java.util.Map;
+
+/**
+ * Precomputed, case-insensitive lookup from every accepted spelling of a
+ * language (locale, folder name, alias) to its folder, plus the reverse
+ * lookup from a folder to its locale.
+ *
+ * Keys are compared ignoring case and treating '-' and '_' as the same
+ * character, so "en-US", "EN_us" and "en_US" all match. A locale that is not
+ * registered falls back to its base language ("en_AU" resolves to whatever
+ * "en" resolves to). Lookups hash the input in place and never allocate.
+ *
+ * Instances are immutable; a new one is built on every reload.
+ */
+public final class LocaleIndex {
+
+    private final Table folders;
+    private final Table locales;
+
+    private LocaleIndex(Table folders, Table locales) {
+        this.folders = folders;
+        this.locales = locales;
+    }
+
+    /**
+     * @param languages registered locales mapped to their folder, in
+     *                  registration order
+     * @param aliases   extra names mapped to a folder
+     */
+    public static LocaleIndex build(Map<String, String> languages, Map<String, String> aliases) {
+        int size = languages.size() * 3 + aliases.size();
+
+        Table folders = new Table(size);
+        Table locales = new Table(languages.size());
+
+        for (Map.Entry<String, String> entry : languages.entrySet()) {
+            folders.put(entry.getKey(), entry.getValue());
+            folders.put(entry.getValue(), entry.getValue());
+            locales.put(entry.getValue(), entry.getKey());
+        }
+
+        for (Map.Entry<String, String> entry : aliases.entrySet()) {
+            if (locales.get(entry.getValue(), entry.getValue().length()) == null) continue;
+            folders.put(entry.getKey(), entry.getValue());
+        }
+
+        for (Map.Entry<String, String> entry : languages.entrySet()) {
+            int base = separator(entry.getKey());
+            if (base > 0) {
+                folders.put(entry.getKey().substring(0, base), entry.getValue());
+            }
+        }
+
+        return new LocaleIndex(folders, locales);
+    }
+
+    /**
+     * Returns the folder of a locale, folder name or alias, falling back from
+     * a region to its base language, or null if nothing matches.
+     */
+    public String resolve(String input) {
+        if (input == null || input.isEmpty()) return null;
+
+        String folder = folders.get(input, input.length());
+        if (folder != null) return folder;
+
+        int base = separator(input);
+        return base > 0 ? folders.get(input, base) : null;
+    }
+
+    /**
+     * Returns the locale a folder was registered with, or null if the folder
+     * is not registered.
+     */
+    public String getLocale(String folder) {
+        if (folder == null || folder.isEmpty()) return null;
+        return locales.get(folder, folder.length());
+    }
+
+    public boolean isFolder(String folder) {
+        return getLocale(folder) != null;
+    }
+
+    private static int separator(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '_' || c == '-') return i;
+        }
+        return -1;
+    }
+
+    private static char normalize(char c) {
+        return c == '-' ? '_' : Character.toLowerCase(c);
+    }
+
+    /**
+     * Open addressing table keyed by normalized strings. The first value put
+     * for a key wins.
+     */
+    private static final class Table {
+
+        private final String[] keys;
+        private final String[] values;
+        private final int mask;
+
+        private Table(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(4, expected * 2) - 1) << 1;
+
+            this.keys = new String[capacity];
+            this.values = new String[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private void put(String key, String value) {
+            int length = key.length();
+            int index = hash(key, length) & mask;
+
+            while (keys[index] != null) {
+                if (matches(keys[index], key, length)) return;
+                index = (index + 1) & mask;
+            }
+
+            keys[index] = key;
+            values[index] = value;
+        }
+
+        private String get(String key, int length) {
+            int index = hash(key, length) & mask;
+
+            while (keys[index] != null) {
+                if (matches(keys[index], key, length)) return values[index];
+                index = (index + 1) & mask;
+            }
+
+            return null;
+        }
+
+        private static int hash(String key, int length) {
+            int hash = 0;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + normalize(key.charAt(i));
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        private static boolean matches(String stored, String key, int length) {
+            if (stored.length() != length) return false;
+
+            for (int i = 0; i < length; i++) {
+                if (normalize(stored.charAt(i)) != normalize(key.charAt(i))) return false;
+            }
+
+            return true;
+        }
+    }
+}
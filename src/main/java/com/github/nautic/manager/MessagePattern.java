@@ -0,0 +1,411 @@
+package com.github.nautic.manager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A translation value compiled into a tree of parts, using the ICU message
+ * syntax:
+ *
+ * <pre>
+ *   {name}
+ *   {count, plural, =0 {No coins} one {# coin} other {# coins}}
+ *   {gender, select, female {She} male {He} other {They}} joined.
+ *   {rank, selectordinal, one {#st} two {#nd} few {#rd} other {#th}}
+ * </pre>
+ *
+ * Patterns are compiled once and can be formatted any number of times from
+ * any thread without parsing again. Arguments that are not given are left in
+ * the output as {@code {name}}, so callers that still replace placeholders
+ * themselves keep working.
+ *
+ * As in ICU, an apostrophe only quotes when it is followed by a brace (or by
+ * '#' inside a plural); "''" is a literal apostrophe.
+ */
+public final class MessagePattern {
+
+    private final Part[] parts;
+
+    private MessagePattern(Part[] parts) {
+        this.parts = parts;
+    }
+
+    /**
+     * Returns true if a value uses plural or select arguments and is worth
+     * compiling ahead of time.
+     */
+    public static boolean isComplex(String value) {
+        return value.indexOf('{') != -1 && (value.contains("plural") || value.contains("select"));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the pattern is malformed
+     */
+    public static MessagePattern compile(String pattern) {
+        Parser parser = new Parser(pattern);
+        Part[] parts = parser.parse(false);
+
+        if (parser.pos < pattern.length()) {
+            throw new IllegalArgumentException("Unmatched '}' at " + parser.pos + " in: " + pattern);
+        }
+
+        return new MessagePattern(parts);
+    }
+
+    /**
+     * Returns a pattern that outputs a value as it is.
+     */
+    public static MessagePattern literal(String value) {
+        return new MessagePattern(new Part[]{new Text(value)});
+    }
+
+    /**
+     * @param plural  the rules used by {@code plural}
+     * @param ordinal the rules used by {@code selectordinal}
+     */
+    public String format(PluralRules plural, OrdinalRules ordinal, Map<String, ?> args) {
+        StringBuilder out = new StringBuilder();
+        appendAll(parts, new Rules(plural, ordinal), args, null, out);
+        return out.toString();
+    }
+
+    private record Rules(PluralRules plural, OrdinalRules ordinal) {
+    }
+
+    private static void appendAll(Part[] parts, Rules rules, Map<String, ?> args, Number number, StringBuilder out) {
+        for (Part part : parts) {
+            part.append(rules, args, number, out);
+        }
+    }
+
+    private static String toText(Object value) {
+        if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (d == Math.rint(d) && !Double.isInfinite(d)) return Long.toString((long) d);
+        }
+        return String.valueOf(value);
+    }
+
+    private interface Part {
+        void append(Rules rules, Map<String, ?> args, Number number, StringBuilder out);
+    }
+
+    private static final class Text implements Part {
+
+        private final String text;
+
+        private Text(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void append(Rules rules, Map<String, ?> args, Number number, StringBuilder out) {
+            out.append(text);
+        }
+    }
+
+    /** The '#' inside a plural branch. */
+    private static final class PluralNumber implements Part {
+
+        @Override
+        public void append(Rules rules, Map<String, ?> args, Number number, StringBuilder out) {
+            out.append(number != null ? toText(number) : "#");
+        }
+    }
+
+    private static final class Argument implements Part {
+
+        private final String name;
+
+        private Argument(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void append(Rules rules, Map<String, ?> args, Number number, StringBuilder out) {
+            Object value = args.get(name);
+            if (value == null) {
+                out.append('{').append(name).append('}');
+            } else {
+                out.append(toText(value));
+            }
+        }
+    }
+
+    private static final class Plural implements Part {
+
+        private final String name;
+        private final boolean ordinal;
+        private final long offset;
+        private final Map<Long, Part[]> exact;
+        private final Map<String, Part[]> categories;
+
+        private Plural(String name, boolean ordinal, long offset, Map<Long, Part[]> exact, Map<String, Part[]> categories) {
+            this.name = name;
+            this.ordinal = ordinal;
+            this.offset = offset;
+            this.exact = exact;
+            this.categories = categories;
+        }
+
+        @Override
+        public void append(Rules rules, Map<String, ?> args, Number number, StringBuilder out) {
+            Object value = args.get(name);
+
+            if (!(value instanceof Number n)) {
+                out.append('{').append(name).append('}');
+                return;
+            }
+
+            double d = n.doubleValue();
+            boolean whole = d == Math.rint(d) && !Double.isInfinite(d);
+
+            Part[] branch = whole ? exact.get((long) d) : null;
+
+            if (branch == null) {
+                double shifted = d - offset;
+                long abs = Math.abs((long) shifted);
+                String category = shifted != Math.rint(shifted) ? "other"
+                        : ordinal ? rules.ordinal().select(abs)
+                        : rules.plural().select(abs);
+
+                branch = categories.get(category);
+                if (branch == null) branch = categories.get("other");
+            }
+
+            Number shown = offset == 0 ? n : Double.valueOf(d - offset);
+            appendAll(branch, rules, args, shown, out);
+        }
+    }
+
+    private static final class Select implements Part {
+
+        private final String name;
+        private final Map<String, Part[]> cases;
+
+        private Select(String name, Map<String, Part[]> cases) {
+            this.name = name;
+            this.cases = cases;
+        }
+
+        @Override
+        public void append(Rules rules, Map<String, ?> args, Number number, StringBuilder out) {
+            Object value = args.get(name);
+
+            Part[] branch = value != null ? cases.get(String.valueOf(value)) : null;
+            if (branch == null) branch = cases.get("other");
+
+            appendAll(branch, rules, args, number, out);
+        }
+    }
+
+    private static final class Parser {
+
+        private final String pattern;
+        private int pos;
+
+        private Parser(String pattern) {
+            this.pattern = pattern;
+        }
+
+        /**
+         * Parses until the end of the pattern or an unmatched '}', which is
+         * left for the caller.
+         */
+        private Part[] parse(boolean inPlural) {
+            List<Part> parts = new ArrayList<>();
+            StringBuilder text = new StringBuilder();
+
+            while (pos < pattern.length()) {
+                char c = pattern.charAt(pos);
+
+                if (c == '\'') {
+                    quote(text, inPlural);
+                } else if (c == '{') {
+                    flush(text, parts);
+                    parts.add(argument(inPlural));
+                } else if (c == '}') {
+                    break;
+                } else if (c == '#' && inPlural) {
+                    flush(text, parts);
+                    parts.add(new PluralNumber());
+                    pos++;
+                } else {
+                    text.append(c);
+                    pos++;
+                }
+            }
+
+            flush(text, parts);
+            return parts.toArray(new Part[0]);
+        }
+
+        private void quote(StringBuilder text, boolean inPlural) {
+            pos++;
+
+            if (pos < pattern.length() && pattern.charAt(pos) == '\'') {
+                text.append('\'');
+                pos++;
+                return;
+            }
+
+            if (pos >= pattern.length() || !isSpecial(pattern.charAt(pos), inPlural)) {
+                text.append('\'');
+                return;
+            }
+
+            while (pos < pattern.length()) {
+                char c = pattern.charAt(pos++);
+
+                if (c != '\'') {
+                    text.append(c);
+                } else if (pos < pattern.length() && pattern.charAt(pos) == '\'') {
+                    text.append('\'');
+                    pos++;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private Part argument(boolean inPlural) {
+            pos++;
+
+            String name = token();
+            skipSpaces();
+
+            char c = next();
+            if (c == '}') {
+                return new Argument(name);
+            }
+            expect(c, ',');
+
+            String type = token();
+            skipSpaces();
+            expect(next(), ',');
+
+            Part part;
+            switch (type) {
+                case "plural" -> part = plural(name, false);
+                case "selectordinal" -> part = plural(name, true);
+                case "select" -> part = select(name, inPlural);
+                default -> throw error("Unknown argument type '" + type + "'");
+            }
+
+            skipSpaces();
+            expect(next(), '}');
+            return part;
+        }
+
+        private Part plural(String name, boolean ordinal) {
+            long offset = 0;
+            Map<Long, Part[]> exact = new HashMap<>();
+            Map<String, Part[]> categories = new HashMap<>();
+
+            skipSpaces();
+            if (pattern.startsWith("offset:", pos)) {
+                pos += "offset:".length();
+                offset = Long.parseLong(token());
+            }
+
+            while (true) {
+                skipSpaces();
+                if (pos >= pattern.length() || pattern.charAt(pos) == '}') break;
+
+                String selector = token();
+                Part[] branch = branch(true);
+
+                if (selector.startsWith("=")) {
+                    try {
+                        exact.put(Long.parseLong(selector.substring(1)), branch);
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid plural selector '" + selector + "'");
+                    }
+                } else {
+                    categories.put(selector, branch);
+                }
+            }
+
+            if (!categories.containsKey("other")) {
+                throw error("Plural argument '" + name + "' has no 'other' case");
+            }
+
+            return new Plural(name, ordinal, offset, exact, categories);
+        }
+
+        private Part select(String name, boolean inPlural) {
+            Map<String, Part[]> cases = new HashMap<>();
+
+            while (true) {
+                skipSpaces();
+                if (pos >= pattern.length() || pattern.charAt(pos) == '}') break;
+
+                String selector = token();
+                cases.put(selector, branch(inPlural));
+            }
+
+            if (!cases.containsKey("other")) {
+                throw error("Select argument '" + name + "' has no 'other' case");
+            }
+
+            return new Select(name, cases);
+        }
+
+        private Part[] branch(boolean inPlural) {
+            skipSpaces();
+            expect(next(), '{');
+
+            Part[] parts = parse(inPlural);
+
+            expect(next(), '}');
+            return parts;
+        }
+
+        private String token() {
+            skipSpaces();
+
+            int start = pos;
+            while (pos < pattern.length()) {
+                char c = pattern.charAt(pos);
+                if (Character.isWhitespace(c) || c == ',' || c == '{' || c == '}') break;
+                pos++;
+            }
+
+            if (start == pos) throw error("Expected a name");
+            return pattern.substring(start, pos);
+        }
+
+        private void skipSpaces() {
+            while (pos < pattern.length() && Character.isWhitespace(pattern.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private char next() {
+            if (pos >= pattern.length()) throw error("Unexpected end of pattern");
+            return pattern.charAt(pos++);
+        }
+
+        private void expect(char found, char expected) {
+            if (found != expected) {
+                throw error("Expected '" + expected + "' but found '" + found + "'");
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at " + pos + " in: " + pattern);
+        }
+
+        private static void flush(StringBuilder text, List<Part> parts) {
+            if (text.length() == 0) return;
+            parts.add(new Text(text.toString()));
+            text.setLength(0);
+        }
+
+        private static boolean isSpecial(char c, boolean inPlural) {
+            return c == '{' || c == '}' || (c == '#' && inPlural);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.nautic.manager;
+
+/**
+ * CLDR ordinal categories (1st, 2nd, 3rd...) for whole numbers, used by
+ * {@code selectordinal}. Languages without a rule here only have "other",
+ * which is right for most of them (German, Spanish, Russian, Chinese, ...).
+ */
+public enum OrdinalRules {
+
+    /** other: every number. */
+    NONE {
+        @Override
+        public String select(long n) {
+            return "other";
+        }
+    },
+
+    /** one: 1, 21, 31..., two: 2, 22..., few: 3, 23..., other: the rest. English. */
+    ENGLISH {
+        @Override
+        public String select(long n) {
+            long mod10 = n % 10;
+            long mod100 = n % 100;
+
+            if (mod10 == 1 && mod100 != 11) return "one";
+            if (mod10 == 2 && mod100 != 12) return "two";
+            if (mod10 == 3 && mod100 != 13) return "few";
+            return "other";
+        }
+    },
+
+    /** one: 1, other: the rest. French, Romanian, Vietnamese, Malay. */
+    ONE_OTHER {
+        @Override
+        public String select(long n) {
+            return n == 1 ? "one" : "other";
+        }
+    },
+
+    /** many: 8, 11, 80, 800, other: the rest. Italian. */
+    ITALIAN {
+        @Override
+        public String select(long n) {
+            return n == 8 || n == 11 || n == 80 || n == 800 ? "many" : "other";
+        }
+    };
+
+    /**
+     * Returns the ordinal category of a non-negative whole number.
+     */
+    public abstract String select(long n);
+
+    /**
+     * Returns the rules of a locale ("en_US", "it", "fr-CA").
+     */
+    public static OrdinalRules forLocale(String locale) {
+        if (locale == null || locale.isEmpty()) return ENGLISH;
+
+        String language = locale.toLowerCase();
+        int separator = language.indexOf('_') != -1 ? language.indexOf('_') : language.indexOf('-');
+        if (separator > 0) language = language.substring(0, separator);
+
+        switch (language) {
+            case "en":
+                return ENGLISH;
+            case "fr", "ro", "vi", "ms":
+                return ONE_OTHER;
+            case "it":
+                return ITALIAN;
+            default:
+                return NONE;
+        }
+    }
+}
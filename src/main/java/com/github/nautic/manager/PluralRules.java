@@ -0,0 +1,101 @@
+package com.github.nautic.manager;
+
+/**
+ * CLDR plural categories for whole numbers, for the languages AtlasLang ships
+ * and the most common others. Languages without a rule here use the English
+ * one (one/other).
+ */
+public enum PluralRules {
+
+    /** No plural forms: Chinese, Japanese, Korean, ... */
+    NONE {
+        @Override
+        public String select(long n) {
+            return "other";
+        }
+    },
+
+    /** one: 1, other: everything else. English, German, Italian, Spanish, ... */
+    ONE_OTHER {
+        @Override
+        public String select(long n) {
+            return n == 1 ? "one" : "other";
+        }
+    },
+
+    /** one: 0 and 1, other: everything else. French, Portuguese. */
+    ZERO_ONE_OTHER {
+        @Override
+        public String select(long n) {
+            return n == 0 || n == 1 ? "one" : "other";
+        }
+    },
+
+    /** one: 1, 21, 31..., few: 2-4, 22-24..., many: the rest. Russian, Ukrainian, ... */
+    EAST_SLAVIC {
+        @Override
+        public String select(long n) {
+            long mod10 = n % 10;
+            long mod100 = n % 100;
+
+            if (mod10 == 1 && mod100 != 11) return "one";
+            if (mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14)) return "few";
+            return "many";
+        }
+    },
+
+    /** one: 1, few: 2-4, 22-24..., many: the rest. Polish. */
+    POLISH {
+        @Override
+        public String select(long n) {
+            if (n == 1) return "one";
+
+            long mod10 = n % 10;
+            long mod100 = n % 100;
+
+            if (mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14)) return "few";
+            return "many";
+        }
+    },
+
+    /** one: 1, few: 2-4, other: the rest. Czech, Slovak. */
+    CZECH {
+        @Override
+        public String select(long n) {
+            if (n == 1) return "one";
+            if (n >= 2 && n <= 4) return "few";
+            return "other";
+        }
+    };
+
+    /**
+     * Returns the plural category of a non-negative whole number.
+     */
+    public abstract String select(long n);
+
+    /**
+     * Returns the rules of a locale ("ru_RU", "pl", "pt-BR").
+     */
+    public static PluralRules forLocale(String locale) {
+        if (locale == null || locale.isEmpty()) return ONE_OTHER;
+
+        String language = locale.toLowerCase();
+        int separator = language.indexOf('_') != -1 ? language.indexOf('_') : language.indexOf('-');
+        if (separator > 0) language = language.substring(0, separator);
+
+        switch (language) {
+            case "zh", "ja", "ko", "th", "vi", "id", "ms":
+                return NONE;
+            case "fr", "pt":
+                return ZERO_ONE_OTHER;
+            case "ru", "uk", "be":
+                return EAST_SLAVIC;
+            case "pl":
+                return POLISH;
+            case "cs", "sk":
+                return CZECH;
+            default:
+                return ONE_OTHER;
+        }
+    }
+}
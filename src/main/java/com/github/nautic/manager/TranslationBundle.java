@@ -0,0 +1,142 @@
+package com.github.nautic.manager;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+
+/**
+ * Language files shipped inside another plugin's jar, under
+ * {@code <root>/<language>/<file>.yml}.
+ *
+ * The files are read from the jar once, when the bundle is registered, and
+ * kept in memory; nothing is extracted to disk. Every load compiles them
+ * again with the admin's overrides from
+ * {@code plugins/AtlasLang/bundles/<namespace>/<language>/<file>.yml} layered
+ * on top, key by key.
+ *
+ * Files are stored as {@code <language>:<namespace>:<file>}, so they never
+ * collide with the files of the languages folder.
+ */
+public final class TranslationBundle {
+
+    private final String namespace;
+    private final String pluginName;
+    private final Logger logger;
+
+    /** language as named in the jar -> file -> YAML source */
+    private final Map<String, Map<String, String>> sources;
+
+    private TranslationBundle(String namespace, Plugin plugin, Map<String, Map<String, String>> sources) {
+        this.namespace = namespace;
+        this.pluginName = plugin.getName();
+        this.logger = plugin.getLogger();
+        this.sources = sources;
+    }
+
+    public static TranslationBundle read(Plugin plugin, String namespace, String root) throws IOException {
+        if (namespace.isEmpty() || namespace.contains(":") || namespace.contains("/")) {
+            throw new IllegalArgumentException("Invalid bundle namespace: " + namespace);
+        }
+
+        String prefix = root.endsWith("/") ? root : root + "/";
+        Map<String, Map<String, String>> sources = new HashMap<>();
+
+        File jar;
+        try {
+            jar = new File(plugin.getClass().getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IOException("Could not locate the jar of " + plugin.getName(), e);
+        }
+
+        try (JarFile file = new JarFile(jar)) {
+            Enumeration<JarEntry> entries = file.entries();
+
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                String name = entry.getName();
+
+                if (entry.isDirectory() || !name.startsWith(prefix) || !name.endsWith(".yml")) continue;
+
+                String relative = name.substring(prefix.length(), name.length() - ".yml".length());
+                int split = relative.indexOf('/');
+                if (split <= 0) continue;
+
+                try (InputStream in = file.getInputStream(entry)) {
+                    sources.computeIfAbsent(relative.substring(0, split).toLowerCase(), l -> new HashMap<>())
+                            .put(relative.substring(split + 1).toLowerCase(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        return new TranslationBundle(namespace.toLowerCase(), plugin, sources);
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public String getPluginName() {
+        return pluginName;
+    }
+
+    /**
+     * Compiles every file of the bundle whose language resolves to a
+     * registered language folder, keyed by file id.
+     *
+     * @param resolver     maps a language name of the jar to a registered folder, or null
+     * @param overridesDir the folder holding the overrides of every bundle
+     */
+    Map<String, TranslationTable> compile(Function<String, String> resolver, File overridesDir) {
+        Map<String, TranslationTable> tables = new HashMap<>();
+
+        for (Map.Entry<String, Map<String, String>> language : sources.entrySet()) {
+            String lang = resolver.apply(language.getKey());
+            if (lang == null) continue;
+
+            File overrides = new File(overridesDir, namespace + "/" + lang);
+
+            for (Map.Entry<String, String> source : language.getValue().entrySet()) {
+                Map<String, String> values = new HashMap<>(compile(source.getValue(), language.getKey() + "/" + source.getKey()).values());
+
+                File override = new File(overrides, source.getKey() + ".yml");
+                if (override.isFile()) {
+                    try {
+                        values.putAll(compile(Files.readString(override.toPath()), override.getPath()).values());
+                    } catch (IOException e) {
+                        logger.warning("Could not read " + override.getPath() + ": " + e.getMessage());
+                    }
+                }
+
+                tables.put(lang + ":" + namespace + ":" + source.getKey(), new TranslationTable(values));
+            }
+        }
+
+        return tables;
+    }
+
+    private TranslationTable compile(String source, String name) {
+        YamlConfiguration cfg = new YamlConfiguration();
+
+        try {
+            cfg.loadFromString(source);
+        } catch (InvalidConfigurationException e) {
+            logger.warning("Invalid YAML in " + name + ": " + e.getMessage());
+        }
+
+        return TranslationTable.compile(cfg);
+    }
+}
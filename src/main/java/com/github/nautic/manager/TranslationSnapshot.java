@@ -0,0 +1,221 @@
+package com.github.nautic.manager;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary cache of compiled translation tables, stored in the plugin data
+ * folder so unchanged files do not have to be parsed again on startup.
+ *
+ * Layout: magic, format version, plugin version, file count, then for every
+ * file its id, mtime, size, content hash and flattened entries, followed by a
+ * CRC32 of everything before it.
+ *
+ * Every write goes to a new generation file ({@code translations.<n>.bin})
+ * instead of replacing the previous one, because a file that is still
+ * memory-mapped cannot be replaced on every platform. Older generations are
+ * deleted once they are no longer mapped.
+ */
+public final class TranslationSnapshot {
+
+    private static final int MAGIC = 0x41544C53; // "ATLS"
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String PREFIX = "translations.";
+    private static final String SUFFIX = ".bin";
+
+    private TranslationSnapshot() {
+    }
+
+    /**
+     * Maps the newest valid snapshot in a folder. Only file headers are read;
+     * each table is decoded from the mapped buffer when it is first needed.
+     * Returns an empty map if there is no snapshot written by this plugin
+     * version.
+     */
+    public static Map<String, Entry> read(File folder, String pluginVersion) throws IOException {
+        for (File file : generations(folder)) {
+            Map<String, Entry> entries = read0(file, pluginVersion);
+            if (entries != null) return entries;
+        }
+
+        return new HashMap<>();
+    }
+
+    private static Map<String, Entry> read0(File file, String pluginVersion) throws IOException {
+        if (file.length() < 16) return null;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            int payload = buffer.limit() - 8;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit(payload));
+            if (buffer.getLong(payload) != crc.getValue()) return null;
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) return null;
+            if (!readString(buffer).equals(pluginVersion)) return null;
+
+            Map<String, Entry> entries = new HashMap<>();
+
+            int files = buffer.getInt();
+            for (int i = 0; i < files; i++) {
+                String id = readString(buffer);
+                long lastModified = buffer.getLong();
+                long size = buffer.getLong();
+                String hash = readString(buffer);
+
+                int count = buffer.getInt();
+                int offset = buffer.position();
+
+                for (int j = 0; j < count * 2; j++) {
+                    buffer.position(buffer.position() + 4 + buffer.getInt(buffer.position()));
+                }
+
+                entries.put(id, new Entry(lastModified, size, hash, buffer, offset, count));
+            }
+
+            return entries;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes a new snapshot generation and deletes the older ones that can be
+     * deleted.
+     */
+    public static void write(File folder, String pluginVersion, Map<String, Entry> entries) throws IOException {
+        if (!folder.exists()) folder.mkdirs();
+
+        File[] previous = generations(folder);
+        long generation = previous.length == 0 ? 1 : generation(previous[0]) + 1;
+
+        File temp = new File(folder, PREFIX + generation + ".tmp");
+        CRC32 crc = new CRC32();
+
+        try (OutputStream raw = new BufferedOutputStream(Files.newOutputStream(temp.toPath()))) {
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(raw, crc));
+
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, pluginVersion);
+
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> item : entries.entrySet()) {
+                Entry entry = item.getValue();
+
+                writeString(out, item.getKey());
+                out.writeLong(entry.lastModified);
+                out.writeLong(entry.size);
+                writeString(out, entry.hash);
+
+                Map<String, String> values = entry.table().values();
+                out.writeInt(values.size());
+                for (Map.Entry<String, String> value : values.entrySet()) {
+                    writeString(out, value.getKey());
+                    writeString(out, value.getValue());
+                }
+            }
+
+            out.flush();
+            new DataOutputStream(raw).writeLong(crc.getValue());
+        }
+
+        Files.move(temp.toPath(), new File(folder, PREFIX + generation + SUFFIX).toPath());
+
+        for (File old : previous) {
+            old.delete();
+        }
+    }
+
+    private static File[] generations(File folder) {
+        File[] files = folder.listFiles((dir, name) ->
+                name.startsWith(PREFIX) && name.endsWith(SUFFIX) && generation(name) >= 0);
+
+        if (files == null) return new File[0];
+
+        Arrays.sort(files, Comparator.comparingLong((File file) -> generation(file)).reversed());
+        return files;
+    }
+
+    private static long generation(File file) {
+        return generation(file.getName());
+    }
+
+    private static long generation(String name) {
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static final class Entry {
+
+        final long lastModified;
+        final long size;
+        final String hash;
+
+        private TranslationTable table;
+
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int count;
+
+        Entry(long lastModified, long size, String hash, TranslationTable table) {
+            this(lastModified, size, hash, null, 0, 0);
+            this.table = table;
+        }
+
+        private Entry(long lastModified, long size, String hash, ByteBuffer buffer, int offset, int count) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = hash;
+            this.buffer = buffer;
+            this.offset = offset;
+            this.count = count;
+        }
+
+        TranslationTable table() {
+            if (table != null) return table;
+
+            ByteBuffer in = buffer.duplicate();
+            in.position(offset);
+
+            Map<String, String> values = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                values.put(readString(in), readString(in));
+            }
+
+            return new TranslationTable(values);
+        }
+    }
+}
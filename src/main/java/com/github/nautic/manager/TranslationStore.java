@@ -0,0 +1,523 @@
+package com.github.nautic.manager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Column-oriented storage for every loaded translation.
+ *
+ * Each (file, path) key is interned once and assigned an integer slot that is
+ * shared by all languages, and each language keeps a dense array of values
+ * indexed by slot. Identical values are pooled so an untranslated fallback or a
+ * shared prefix is held once no matter how many languages use it.
+ *
+ * The system file of a language (english/english.yml, spanish/spanish.yml...)
+ * is stored under a common file key so its keys share slots across languages.
+ *
+ * Writers are serialized by the caller; readers never lock and always see a
+ * complete set of columns, because columns are copied, updated and published
+ * with a single volatile write.
+ *
+ * Columns of languages nobody has read for a while can be deflated into a
+ * byte array; the first read afterwards inflates them again, pooling the
+ * values as they are decoded, and drops the bytes.
+ */
+public final class TranslationStore {
+
+    private static final String SYSTEM_FILE = "";
+
+    private final Map<String, Map<String, Integer>> slots = new ConcurrentHashMap<>();
+    private final Map<String, String> valuePool = new ConcurrentHashMap<>();
+    private final Map<String, MessagePattern> patterns = new ConcurrentHashMap<>();
+
+    private volatile Map<String, Column> columns = Collections.emptyMap();
+    private volatile long version;
+    private volatile long weight;
+
+    private int nextSlot;
+    private int poolLimit = 1024;
+
+    /**
+     * Returns the slot of a key, or -1 if no language has ever defined it.
+     */
+    public int slot(String lang, String file, String path) {
+        Map<String, Integer> paths = slots.get(fileKey(lang, file));
+        if (paths == null) return -1;
+
+        Integer slot = paths.get(path);
+        return slot != null ? slot : -1;
+    }
+
+    public String get(String lang, int slot) {
+        Column column = columns.get(lang);
+        if (column == null || slot < 0) return null;
+
+        column.accesses++;
+
+        String[] values = column.values();
+        return slot < values.length ? values[slot] : null;
+    }
+
+    public String get(String lang, String file, String path) {
+        return get(lang, slot(lang, file, path));
+    }
+
+    public boolean isLoaded(String lang, String file) {
+        Column column = columns.get(lang);
+        return column != null && column.files.containsKey(fileKey(lang, file));
+    }
+
+    /**
+     * Same as {@link #isLoaded(String, String)}, but also marks the file as
+     * recently used so it is the last candidate for eviction.
+     */
+    public boolean access(String lang, String file) {
+        Column column = columns.get(lang);
+        if (column == null) return false;
+
+        FileEntry entry = column.files.get(fileKey(lang, file));
+        if (entry == null) return false;
+
+        column.accesses++;
+        entry.lastAccess = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * Returns the compiled format of a value, compiling it the first time.
+     * A malformed pattern is formatted as plain text.
+     */
+    public MessagePattern pattern(String value) {
+        MessagePattern pattern = patterns.get(value);
+        if (pattern != null) return pattern;
+
+        precompile(value);
+        return patterns.get(value);
+    }
+
+    /**
+     * Compiles and caches the format of a value ahead of its first use.
+     * Returns the reason if the value is not a valid pattern, or null.
+     */
+    String precompile(String value) {
+        if (patterns.containsKey(value)) return null;
+
+        try {
+            patterns.putIfAbsent(value, MessagePattern.compile(value));
+            return null;
+        } catch (IllegalArgumentException e) {
+            patterns.putIfAbsent(value, MessagePattern.literal(value));
+            return e.getMessage();
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Estimated heap cost in bytes of the loaded values of columns that are
+     * not compressed, as of the last write.
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the least recently used files whose combined weight covers the
+     * given amount of bytes. System files and bundle files, which have no
+     * source on disk to load them from again, are pinned and never returned.
+     */
+    public List<String> getEvictionCandidates(long bytes) {
+        List<Map.Entry<String, FileEntry>> candidates = new ArrayList<>();
+
+        for (Map.Entry<String, Column> column : columns.entrySet()) {
+            if (column.getValue().isCompressed()) continue;
+
+            for (Map.Entry<String, FileEntry> file : column.getValue().files.entrySet()) {
+                if (file.getKey().equals(SYSTEM_FILE) || file.getKey().indexOf(':') != -1) continue;
+                candidates.add(Map.entry(column.getKey() + ":" + file.getKey(), file.getValue()));
+            }
+        }
+
+        candidates.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+
+        List<String> ids = new ArrayList<>();
+        long freed = 0;
+
+        for (Map.Entry<String, FileEntry> candidate : candidates) {
+            if (freed >= bytes) break;
+            ids.add(candidate.getKey());
+            freed += candidate.getValue().weight;
+        }
+
+        return ids;
+    }
+
+    /**
+     * Deflates every language column that has not been read during the last
+     * {@code idleNanos}. Meant to be called periodically from a single
+     * thread; returns the number of columns compressed by this call.
+     *
+     * The strings of a compressed column are still held by the value pool
+     * until {@link #reclaim()} runs.
+     */
+    public int compressIdle(long idleNanos) {
+        long now = System.nanoTime();
+        int compressed = 0;
+
+        for (Column column : columns.values()) {
+            int accesses = column.accesses;
+
+            if (accesses != column.lastSeenAccesses) {
+                column.lastSeenAccesses = accesses;
+                column.idleSince = now;
+                continue;
+            }
+
+            if (now - column.idleSince >= idleNanos && column.compress()) {
+                compressed++;
+            }
+        }
+
+        return compressed;
+    }
+
+    /**
+     * Rebuilds the value pool and the weight from the columns that are not
+     * compressed, so the strings of compressed columns can be collected.
+     * Must be called by a writer.
+     */
+    void reclaim() {
+        prunePool();
+        weight = residentWeight(columns);
+    }
+
+    public boolean isCompressed(String lang) {
+        Column column = columns.get(lang);
+        return column != null && column.isCompressed();
+    }
+
+    public Set<String> getFileIds() {
+        Set<String> ids = new HashSet<>();
+
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            for (String file : entry.getValue().files.keySet()) {
+                ids.add(entry.getKey() + ":" + (file.equals(SYSTEM_FILE) ? entry.getKey() : file));
+            }
+        }
+
+        return ids;
+    }
+
+    public Set<String> getPaths(String lang, String file) {
+        Column column = columns.get(lang);
+        Map<String, Integer> paths = slots.get(fileKey(lang, file));
+        if (column == null || paths == null) return Collections.emptySet();
+
+        Set<String> result = new HashSet<>();
+        String[] values = column.values();
+        for (Map.Entry<String, Integer> entry : paths.entrySet()) {
+            int slot = entry.getValue();
+            if (slot < values.length && values[slot] != null) {
+                result.add(entry.getKey());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Rebuilds the table of a loaded file from its column.
+     */
+    public TranslationTable getTable(String lang, String file) {
+        if (!isLoaded(lang, file)) return null;
+
+        Map<String, String> values = new HashMap<>();
+        for (String path : getPaths(lang, file)) {
+            values.put(path, get(lang, file, path));
+        }
+
+        return new TranslationTable(values);
+    }
+
+    /**
+     * Applies a batch of loaded and removed files, identified by
+     * {@code lang:file} ids, and publishes the result atomically.
+     */
+    void apply(Map<String, TranslationTable> loaded, Set<String> removed) {
+        Map<String, Column> next = new HashMap<>(columns);
+        Map<String, Column> touched = new HashMap<>();
+
+        for (String id : removed) {
+            int split = id.indexOf(':');
+            String lang = id.substring(0, split);
+            String file = fileKey(lang, id.substring(split + 1));
+
+            Column column = touched.computeIfAbsent(lang, l -> copyOf(next.get(l), nextSlot));
+            clear(column, file);
+            column.files.remove(file);
+        }
+
+        for (Map.Entry<String, TranslationTable> entry : loaded.entrySet()) {
+            String id = entry.getKey();
+            int split = id.indexOf(':');
+            String lang = id.substring(0, split);
+            String file = fileKey(lang, id.substring(split + 1));
+
+            Map<String, Integer> paths = slots.computeIfAbsent(file, f -> new ConcurrentHashMap<>());
+            for (String path : entry.getValue().values().keySet()) {
+                paths.computeIfAbsent(path, p -> nextSlot++);
+            }
+
+            Column column = touched.computeIfAbsent(lang, l -> copyOf(next.get(l), nextSlot));
+            column.ensureCapacity(nextSlot);
+            clear(column, file);
+            column.files.put(file, new FileEntry(entry.getValue().weight()));
+
+            for (Map.Entry<String, String> value : entry.getValue().values().entrySet()) {
+                column.values[paths.get(value.getKey())] = intern(value.getValue());
+            }
+        }
+
+        for (Map.Entry<String, Column> entry : touched.entrySet()) {
+            if (entry.getValue().files.isEmpty()) {
+                next.remove(entry.getKey());
+            } else {
+                next.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        columns = next;
+        weight = residentWeight(next);
+        version++;
+
+        if (valuePool.size() > poolLimit) {
+            prunePool();
+        }
+    }
+
+    /**
+     * Replaces a single value of a loaded file. Only the column of that
+     * language is copied and published; a key that already had a slot keeps
+     * it, so the version only moves when the key is new and bound
+     * {@code MessageKey}s stay valid. Returns false if the file is not
+     * loaded.
+     */
+    boolean put(String lang, String file, String path, String value) {
+        String key = fileKey(lang, file);
+
+        Column current = columns.get(lang);
+        if (current == null || !current.files.containsKey(key)) return false;
+
+        Map<String, Integer> paths = slots.computeIfAbsent(key, f -> new ConcurrentHashMap<>());
+        Integer slot = paths.get(path);
+        boolean added = slot == null;
+
+        if (added) {
+            slot = nextSlot++;
+            paths.put(path, slot);
+        }
+
+        Column column = copyOf(current, nextSlot);
+        column.values[slot] = intern(value);
+
+        Map<String, Column> next = new HashMap<>(columns);
+        next.put(lang, column);
+        columns = next;
+
+        if (added) version++;
+
+        // The replaced value stays pooled, so repeated edits grow the pool
+        if (valuePool.size() > poolLimit) {
+            prunePool();
+        }
+        return true;
+    }
+
+    private void clear(Column column, String file) {
+        Map<String, Integer> paths = slots.get(file);
+        if (paths == null) return;
+
+        for (int slot : paths.values()) {
+            if (slot < column.values.length) {
+                column.values[slot] = null;
+            }
+        }
+    }
+
+    /**
+     * Also called by readers inflating a column, hence the concurrent pool.
+     */
+    private String intern(String value) {
+        String pooled = valuePool.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+
+    private static long residentWeight(Map<String, Column> columns) {
+        long total = 0;
+
+        for (Column column : columns.values()) {
+            if (column.isCompressed()) continue;
+
+            for (FileEntry entry : column.files.values()) {
+                total += entry.weight;
+            }
+        }
+
+        return total;
+    }
+
+    private void prunePool() {
+        valuePool.clear();
+
+        for (Column column : columns.values()) {
+            // Read the field so a column compressed meanwhile is not inflated
+            String[] values = column.values;
+            if (values == null) continue;
+
+            for (String value : values) {
+                if (value != null) valuePool.put(value, value);
+            }
+        }
+
+        patterns.keySet().retainAll(valuePool.keySet());
+        poolLimit = Math.max(1024, valuePool.size() * 2);
+    }
+
+    private static String fileKey(String lang, String file) {
+        return file.equals(lang) ? SYSTEM_FILE : file;
+    }
+
+    private Column copyOf(Column column, int capacity) {
+        if (column == null) {
+            return new Column(new String[capacity], new HashMap<>());
+        }
+
+        String[] values = column.values();
+        return new Column(
+                Arrays.copyOf(values, Math.max(capacity, values.length)),
+                new HashMap<>(column.files)
+        );
+    }
+
+    private final class Column {
+
+        private volatile String[] values;
+        private byte[] compressed;
+        private final Map<String, FileEntry> files;
+
+        private volatile int accesses;
+        private int lastSeenAccesses;
+        private long idleSince = System.nanoTime();
+
+        private Column(String[] values, Map<String, FileEntry> files) {
+            this.values = values;
+            this.files = files;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, capacity);
+            }
+        }
+
+        private String[] values() {
+            String[] current = values;
+            return current != null ? current : inflate();
+        }
+
+        private boolean isCompressed() {
+            return values == null;
+        }
+
+        /**
+         * The bytes are dropped once inflated so a column is never held
+         * twice; it is encoded again if it goes cold again.
+         */
+        private synchronized String[] inflate() {
+            if (values == null) {
+                values = decode(compressed);
+                compressed = null;
+            }
+            return values;
+        }
+
+        private synchronized boolean compress() {
+            if (values == null) return false;
+
+            compressed = encode(values);
+            values = null;
+            return true;
+        }
+
+        private static byte[] encode(String[] values) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+            try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+                out.writeInt(values.length);
+
+                for (String value : values) {
+                    if (value == null) {
+                        out.writeInt(-1);
+                        continue;
+                    }
+
+                    byte[] data = value.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(data.length);
+                    out.write(data);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return bytes.toByteArray();
+        }
+
+        private String[] decode(byte[] compressed) {
+            try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+                String[] values = new String[in.readInt()];
+
+                for (int i = 0; i < values.length; i++) {
+                    int length = in.readInt();
+                    if (length < 0) continue;
+
+                    byte[] data = new byte[length];
+                    in.readFully(data);
+                    values[i] = intern(new String(data, StandardCharsets.UTF_8));
+                }
+
+                return values;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class FileEntry {
+
+        private final long weight;
+        private long lastAccess = System.nanoTime();
+
+        private FileEntry(long weight) {
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.nautic.manager;
+
+import com.github.nautic.utils.addColor;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled form of a language file: every string (or string list, joined with
+ * new lines) flattened to its full path and already color rendered.
+ */
+public final class TranslationTable {
+
+    private final Map<String, String> values;
+
+    TranslationTable(Map<String, String> values) {
+        this.values = values;
+    }
+
+    public static TranslationTable compile(ConfigurationSection cfg) {
+        Map<String, String> values = new HashMap<>();
+
+        for (String path : cfg.getKeys(true)) {
+            String value = null;
+
+            if (cfg.isString(path)) {
+                value = cfg.getString(path);
+            } else if (cfg.isList(path)) {
+                List<String> list = cfg.getStringList(path);
+                if (!list.isEmpty()) {
+                    value = String.join("\n", list);
+                }
+            }
+
+            if (value != null) {
+                values.put(path, addColor.Set(value.trim()));
+            }
+        }
+
+        return new TranslationTable(values);
+    }
+
+    public String get(String path) {
+        return values.get(path);
+    }
+
+    public boolean contains(String path) {
+        return values.containsKey(path);
+    }
+
+    public Set<String> getPaths() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Rough heap cost of the values of this table in bytes, used to bound
+     * memory when files are loaded lazily.
+     */
+    public long weight() {
+        long weight = 0;
+        for (String value : values.values()) {
+            weight += 48 + value.length() * 2L;
+        }
+        return weight;
+    }
+
+    Map<String, String> values() {
+        return values;
+    }
+}
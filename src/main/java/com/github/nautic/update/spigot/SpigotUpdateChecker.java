@@ -1,34 +1,102 @@
 package com.github.nautic.update.spigot;
 
+import com.github.nautic.utils.Http;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.io.InputStream;
-import java.net.URL;
 import java.io.IOException;
-import java.util.Scanner;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
+/**
+ * Looks up the latest version published on Spigot.
+ *
+ * The answer is kept for an hour, and callers asking while a lookup is
+ * running share it, so a wave of staff joining after a restart costs a
+ * single request. A failed lookup is not retried for a few minutes.
+ */
 public class SpigotUpdateChecker {
 
+    private static final long CACHE_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long RETRY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
     private final JavaPlugin plugin;
     private final int resourceId;
 
+    private String latest;
+    private long checkedAt;
+    private long failedAt;
+    private CompletableFuture<String> inFlight;
+
     public SpigotUpdateChecker(JavaPlugin plugin, int resourceId) {
         this.plugin = plugin;
         this.resourceId = resourceId;
     }
 
+    /**
+     * Passes the latest version to {@code consumer} on the main thread. The
+     * consumer is not called if the version cannot be fetched.
+     */
     public void getVersion(final Consumer<String> consumer) {
-        Bukkit.getScheduler().runTaskAsynchronously(this.plugin, () -> {
-            try (InputStream is = new URL("https://api.spigotmc.org/legacy/update.php?resource=" + this.resourceId).openStream();
-                 Scanner scanner = new Scanner(is)) {
-                if (scanner.hasNext()) {
-                    consumer.accept(scanner.next());
-                }
-            } catch (IOException e) {
-                plugin.getLogger().warning("Could not check for updates: " + e.getMessage());
+        latest().thenAccept(version -> {
+            if (version != null) {
+                Bukkit.getScheduler().runTask(plugin, () -> consumer.accept(version));
             }
         });
     }
-}
\ No newline at end of file
+
+    private synchronized CompletableFuture<String> latest() {
+        long now = System.currentTimeMillis();
+
+        if (latest != null && now - checkedAt < CACHE_MILLIS) {
+            return CompletableFuture.completedFuture(latest);
+        }
+
+        if (inFlight != null) return inFlight;
+
+        if (now - failedAt < RETRY_MILLIS) {
+            return CompletableFuture.completedFuture(latest);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("https://api.spigotmc.org/legacy/update.php?resource=" + this.resourceId))
+                .timeout(Duration.ofSeconds(15))
+                .build();
+
+        CompletableFuture<String> fetch = Http.client()
+                .sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new CompletionException(new IOException("HTTP " + response.statusCode()));
+                    }
+                    return response.body().trim();
+                });
+
+        inFlight = fetch;
+        fetch.whenComplete((version, error) -> complete(fetch, version, error));
+
+        return fetch;
+    }
+
+    private synchronized void complete(CompletableFuture<String> fetch, String version, Throwable error) {
+        if (inFlight == fetch) inFlight = null;
+
+        if (error == null && !version.isEmpty()) {
+            latest = version;
+            checkedAt = System.currentTimeMillis();
+            return;
+        }
+
+        failedAt = System.currentTimeMillis();
+
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        plugin.getLogger().warning("Could not check for updates: "
+                + (cause != null ? cause.getMessage() : "empty response"));
+    }
+}
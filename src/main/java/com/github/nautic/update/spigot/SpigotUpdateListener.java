@@ -28,6 +28,8 @@ public class SpigotUpdateListener implements Listener {
         if (!player.isOp() && !player.hasPermission("apololangs.admin")) return;
 
         updateChecker.getVersion(latestVersion -> {
+            if (!player.isOnline()) return;
+
             String currentVersion = plugin.getDescription().getVersion();
             if (!currentVersion.equalsIgnoreCase(latestVersion)) {
                 player.sendMessage(addColor.Set("&r"));
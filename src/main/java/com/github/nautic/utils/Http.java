@@ -0,0 +1,24 @@
+package com.github.nautic.utils;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * The HTTP client shared by every outgoing request of the plugin (update
+ * checks, GitHub sync), so connections to the same host are reused instead
+ * of opened for every request.
+ */
+public final class Http {
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(15))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private Http() {
+    }
+
+    public static HttpClient client() {
+        return CLIENT;
+    }
+}
@@ -39,6 +39,14 @@ public class addColor {
         return Set(message);
     }
 
+    // For values that were colored when loaded: MiniMessage must not run over
+    // them again, but placeholder output (prefixes...) still needs its & and
+    // &# codes translated, which leaves the already colored text as it is
+    public static String ApplyPlaceholders(Player player, String message) {
+        if (player == null || message == null) return message;
+        return TranslateColor(TranslateHex(PlaceholderAPI.setPlaceholders(player, message)));
+    }
+
     public static String TranslateColor(String text) {
         return ChatColor.translateAlternateColorCodes('&', text);
     }
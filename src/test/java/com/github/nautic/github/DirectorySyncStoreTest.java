@@ -0,0 +1,96 @@
+package com.github.nautic.github;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirectorySyncStoreTest {
+
+    private static final long LEASE = 60_000L;
+
+    @TempDir
+    Path folder;
+
+    private FakeGitHub github;
+
+    @BeforeEach
+    void start() throws IOException {
+        github = new FakeGitHub();
+        github.push("c1", Map.of("languages/english/a.yml", "a: 1"));
+    }
+
+    @AfterEach
+    void stop() {
+        github.close();
+    }
+
+    /**
+     * Does what a scheduled sync does on one server of the network.
+     */
+    private GitHubSyncResult sync(Path dataFolder, String node, NetworkSyncStore store) throws IOException {
+        GitHubConfig cfg = FakeGitHub.config("zip");
+        GitHubZipSynchronizer synchronizer = new GitHubZipSynchronizer(cfg, dataFolder.toFile(), github.url());
+
+        if (!store.acquireLease(node, LEASE)) {
+            String version = store.getVersion();
+            return version != null ? synchronizer.applyArtifact(version, store) : GitHubSyncResult.NO_CHANGES;
+        }
+
+        GitHubSyncResult result = synchronizer.execute();
+        if (!synchronizer.getCommit().equals(store.getVersion())) {
+            ByteArrayOutputStream artifact = new ByteArrayOutputStream();
+            synchronizer.writeArtifact(artifact);
+            store.publish(node, synchronizer.getCommit(), artifact.toByteArray());
+        }
+        return result;
+    }
+
+    @Test
+    void followerAppliesWhatTheLeaderPublished() throws IOException {
+        Path shared = folder.resolve("shared");
+        Path leader = folder.resolve("leader");
+        Path follower = folder.resolve("follower");
+
+        assertEquals(GitHubSyncResult.SUCCESS, sync(leader, "leader", new DirectorySyncStore(shared)));
+        int requests = github.requests.get();
+
+        assertEquals(GitHubSyncResult.SUCCESS, sync(follower, "follower", new DirectorySyncStore(shared)));
+        assertEquals(requests, github.requests.get(), "follower should not contact GitHub");
+        assertEquals("a: 1", Files.readString(follower.resolve("languages/english/a.yml")));
+
+        github.push("c2", Map.of("languages/english/a.yml", "a: 2", "languages/english/b.yml", "b: 1"));
+
+        assertEquals(GitHubSyncResult.SUCCESS, sync(leader, "leader", new DirectorySyncStore(shared)));
+        assertEquals(GitHubSyncResult.SUCCESS, sync(follower, "follower", new DirectorySyncStore(shared)));
+        assertEquals("a: 2", Files.readString(follower.resolve("languages/english/a.yml")));
+        assertEquals("b: 1", Files.readString(follower.resolve("languages/english/b.yml")));
+
+        assertEquals(GitHubSyncResult.NO_CHANGES, sync(follower, "follower", new DirectorySyncStore(shared)));
+    }
+
+    @Test
+    void releasedLeaseCanBeTakenRightAway() throws IOException {
+        DirectorySyncStore store = new DirectorySyncStore(folder);
+
+        assertTrue(store.acquireLease("leader", LEASE));
+        assertTrue(store.acquireLease("leader", LEASE), "the holder renews its own lease");
+        assertFalse(store.acquireLease("follower", LEASE));
+
+        store.releaseLease("follower");
+        assertFalse(store.acquireLease("follower", LEASE), "only the holder can release");
+
+        store.releaseLease("leader");
+        assertTrue(store.acquireLease("follower", LEASE));
+    }
+}
@@ -0,0 +1,218 @@
+package com.github.nautic.github;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Serves the parts of the GitHub API used by the synchronizer from memory,
+ * counting every request so tests can check what was downloaded.
+ */
+class FakeGitHub implements AutoCloseable {
+
+    static final String REPOSITORY = "owner/repo";
+    static final String BRANCH = "main";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /** Repository contents by path from the repository root. */
+    private final Map<String, String> files = Collections.synchronizedMap(new TreeMap<>());
+
+    private volatile String commit = "c1";
+    private volatile boolean truncated;
+
+    final AtomicInteger requests = new AtomicInteger();
+    final AtomicInteger notModified = new AtomicInteger();
+    final AtomicInteger archives = new AtomicInteger();
+    final List<String> blobs = Collections.synchronizedList(new ArrayList<>());
+
+    FakeGitHub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            try {
+                handle(exchange);
+            } catch (Exception e) {
+                respond(exchange, 500, new byte[0]);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Replaces the repository contents with a new commit.
+     */
+    void push(String commit, Map<String, String> files) {
+        synchronized (this.files) {
+            this.files.clear();
+            this.files.putAll(files);
+        }
+        this.commit = commit;
+    }
+
+    void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    static GitHubConfig config(String mode) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("github.repository.name", REPOSITORY);
+        yaml.set("github.repository.branch", BRANCH);
+        yaml.set("github.authentication.type", "none");
+        yaml.set("github.authentication.token", "");
+        yaml.set("github.paths.remote-root", "languages");
+        yaml.set("github.paths.local-root", "languages");
+        yaml.set("github.sync.create-missing", true);
+        yaml.set("github.sync.overwrite-existing", true);
+        yaml.set("github.sync.delete-missing", true);
+        yaml.set("github.sync.reload-after-sync", false);
+        yaml.set("github.sync.mode", mode);
+        yaml.set("github.sync.connections", 2);
+        return GitHubConfig.load(yaml);
+    }
+
+    static String blobSha(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(("blob " + bytes.length + "\0").getBytes(StandardCharsets.UTF_8));
+            digest.update(bytes);
+
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+
+        String path = exchange.getRequestURI().getPath();
+        String repo = "/repos/" + REPOSITORY + "/";
+        String commit = this.commit;
+
+        if (path.equals(repo + "commits/" + BRANCH)) {
+            String etag = "\"" + commit + "\"";
+            exchange.getResponseHeaders().add("ETag", etag);
+
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                respond(exchange, 304, new byte[0]);
+            } else {
+                respond(exchange, 200, commit.getBytes(StandardCharsets.UTF_8));
+            }
+
+        } else if (path.equals(repo + "git/trees/" + commit + ":languages")) {
+            respond(exchange, 200, tree().toString().getBytes(StandardCharsets.UTF_8));
+
+        } else if (path.startsWith(repo + "git/blobs/")) {
+            String sha = path.substring(path.lastIndexOf('/') + 1);
+
+            synchronized (files) {
+                for (Map.Entry<String, String> file : files.entrySet()) {
+                    if (!blobSha(file.getValue()).equals(sha)) continue;
+
+                    blobs.add(file.getKey());
+                    respond(exchange, 200, file.getValue().getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+            }
+            respond(exchange, 404, new byte[0]);
+
+        } else if (path.equals(repo + "zipball/" + commit)) {
+            // Like GitHub, redirect to the archive host
+            exchange.getResponseHeaders().add("Location", url() + "/archive/" + commit + ".zip");
+            respond(exchange, 302, new byte[0]);
+
+        } else if (path.equals("/archive/" + commit + ".zip")) {
+            archives.incrementAndGet();
+            respond(exchange, 200, archive(commit));
+
+        } else {
+            respond(exchange, 404, new byte[0]);
+        }
+    }
+
+    private JsonObject tree() {
+        JsonArray entries = new JsonArray();
+
+        synchronized (files) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                if (!file.getKey().startsWith("languages/")) continue;
+
+                JsonObject entry = new JsonObject();
+                entry.addProperty("path", file.getKey().substring("languages/".length()));
+                entry.addProperty("type", "blob");
+                entry.addProperty("sha", blobSha(file.getValue()));
+                entry.addProperty("size", file.getValue().getBytes(StandardCharsets.UTF_8).length);
+                entries.add(entry);
+            }
+        }
+
+        JsonObject tree = new JsonObject();
+        tree.addProperty("truncated", truncated);
+        tree.add("tree", entries);
+        return tree;
+    }
+
+    private byte[] archive(String commit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            synchronized (files) {
+                for (Map.Entry<String, String> file : files.entrySet()) {
+                    zip.putNextEntry(new ZipEntry("owner-repo-" + commit + "/" + file.getKey()));
+                    zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                    zip.closeEntry();
+                }
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length == 0) return;
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.nautic.github;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GitHubConfigTest {
+
+    @Test
+    void modeDefaultsToZip() {
+        assertEquals(GitHubConfig.Mode.ZIP, FakeGitHub.config(null).mode);
+        assertEquals(GitHubConfig.Mode.TREE, FakeGitHub.config("tree").mode);
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.nautic.github;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class GitHubZipSynchronizerTest {
+
+    @TempDir
+    Path dataFolder;
+
+    private FakeGitHub github;
+
+    @BeforeEach
+    void start() throws IOException {
+        github = new FakeGitHub();
+        github.push("c1", Map.of(
+                "languages/english/a.yml", "a: 1",
+                "languages/english/b.yml", "b: 1",
+                "languages/spanish/a.yml", "a: uno",
+                "README.md", "not synced"
+        ));
+    }
+
+    @AfterEach
+    void stop() {
+        github.close();
+    }
+
+    private GitHubSyncResult sync(String mode) throws IOException {
+        return synchronizer(mode).execute();
+    }
+
+    private GitHubZipSynchronizer synchronizer(String mode) {
+        return new GitHubZipSynchronizer(FakeGitHub.config(mode), dataFolder.toFile(), github.url());
+    }
+
+    private String read(String path) throws IOException {
+        return Files.readString(dataFolder.resolve("languages").resolve(path));
+    }
+
+    @Test
+    void unchangedBranchIsNotDownloadedAgain() throws IOException {
+        assertEquals(GitHubSyncResult.SUCCESS, sync("zip"));
+        assertEquals(1, github.archives.get());
+
+        assertEquals(GitHubSyncResult.NO_CHANGES, sync("zip"));
+        assertEquals(1, github.notModified.get(), "branch head should answer 304");
+        assertEquals(1, github.archives.get());
+    }
+
+    @Test
+    void movedBranchIsDownloadedAgain() throws IOException {
+        assertEquals(GitHubSyncResult.SUCCESS, sync("zip"));
+
+        github.push("c2", Map.of(
+                "languages/english/a.yml", "a: 2",
+                "languages/english/b.yml", "b: 1",
+                "languages/spanish/a.yml", "a: uno"
+        ));
+
+        assertEquals(GitHubSyncResult.SUCCESS, sync("zip"));
+        assertEquals(0, github.notModified.get());
+        assertEquals(2, github.archives.get());
+        assertEquals("a: 2", read("english/a.yml"));
+    }
+
+    @Test
+    void archiveIsDownloadedThroughZipball() throws IOException {
+        GitHubZipSynchronizer synchronizer = synchronizer("zip");
+
+        assertEquals(GitHubSyncResult.SUCCESS, synchronizer.execute());
+        assertEquals("c1", synchronizer.getCommit());
+        assertEquals(Set.of("english/a.yml", "english/b.yml", "spanish/a.yml"), synchronizer.getAdded());
+        assertEquals("a: uno", read("spanish/a.yml"));
+        assertFalse(new File(dataFolder.toFile(), "languages/README.md").exists());
+    }
+
+    @Test
+    void treeModeDownloadsOnlyChangedFiles() throws IOException {
+        assertEquals(GitHubSyncResult.SUCCESS, sync("tree"));
+        assertEquals(3, github.blobs.size());
+
+        github.blobs.clear();
+        github.push("c2", Map.of(
+                "languages/english/a.yml", "a: 1",
+                "languages/english/b.yml", "b: 2",
+                "languages/spanish/a.yml", "a: uno"
+        ));
+
+        GitHubZipSynchronizer synchronizer = synchronizer("tree");
+        assertEquals(GitHubSyncResult.SUCCESS, synchronizer.execute());
+
+        assertEquals(List.of("languages/english/b.yml"), github.blobs);
+        assertEquals(Set.of("english/b.yml"), synchronizer.getModified());
+        assertEquals("b: 2", read("english/b.yml"));
+        assertEquals(0, github.archives.get());
+    }
+
+    @Test
+    void truncatedTreeFallsBackToArchive() throws IOException {
+        github.setTruncated(true);
+
+        GitHubZipSynchronizer synchronizer = synchronizer("tree");
+        assertEquals(GitHubSyncResult.SUCCESS, synchronizer.execute());
+
+        assertEquals(0, github.blobs.size());
+        assertEquals(1, github.archives.get());
+        assertEquals(3, synchronizer.getAdded().size());
+        assertEquals("b: 1", read("english/b.yml"));
+    }
+}